@@ -0,0 +1,29 @@
+package com.steamgriddb;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so every result reports
+ * allocation rates next to throughput. Accepts the usual JMH arguments.
+ *
+ * @author mpaterakis
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(cmd)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * Make constructor private to give class a static nature
+     */
+    private BenchmarkRunner() {
+    }
+}
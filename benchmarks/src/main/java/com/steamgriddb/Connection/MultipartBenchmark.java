@@ -0,0 +1,59 @@
+package com.steamgriddb.Connection;
+
+import java.io.IOException;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Creation of multipart upload bodies for small and large files.
+ *
+ * @author mpaterakis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MultipartBenchmark {
+
+    @Param({"16384", "8388608"})
+    public int fileSize;
+
+    private Path file;
+    private Map<Object, Object> params;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        file = Files.createTempFile("sgdb-bench", ".png");
+        Files.write(file, content);
+
+        params = new LinkedHashMap<>();
+        params.put("game_id", "2254");
+        params.put("style", "blurred");
+        params.put("grid", file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public BodyPublisher build() throws IOException {
+        return SGDBConnectionManager.ofMimeMultipartData(params, "----sgdbbenchmarkboundary");
+    }
+}
@@ -0,0 +1,46 @@
+package com.steamgriddb.Connection;
+
+import com.steamgriddb.Enums.SGDBIdTypes;
+import com.steamgriddb.Enums.SGDBStyles;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Construction of request URIs from API paths.
+ *
+ * @author mpaterakis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UriBenchmark {
+
+    private final SGDBStyles[] styles = {SGDBStyles.Alternate, SGDBStyles.Blurred};
+
+    @Setup
+    public void setup() {
+        SGDBConnectionManager.initialize("https://www.steamgriddb.com/api/v2", "");
+    }
+
+    @Benchmark
+    public URI gridsPath() {
+        return SGDBConnectionManager.buildUri("grids/steam/567890?styles=alternate,blurred");
+    }
+
+    @Benchmark
+    public URI gridsEndpoint() {
+        return SGDBConnectionManager.buildUri(SGDBEndpoints.gridsPath(SGDBIdTypes.SteamAppId, "567890", styles));
+    }
+
+    @Benchmark
+    public URI gamesPath() {
+        return SGDBConnectionManager.buildUri("games/id/2254");
+    }
+}
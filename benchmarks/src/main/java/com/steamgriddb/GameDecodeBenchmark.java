@@ -0,0 +1,34 @@
+package com.steamgriddb;
+
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Construction of a Game from a games/ response.
+ *
+ * @author mpaterakis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GameDecodeBenchmark {
+
+    private String body;
+
+    @Setup
+    public void setup() {
+        body = Payloads.read("game.json");
+    }
+
+    @Benchmark
+    public Game decode() {
+        return new Game(new JSONObject(body));
+    }
+}
@@ -0,0 +1,39 @@
+package com.steamgriddb;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Decoding of grid list responses, as done by Grid.getGridsById.
+ *
+ * @author mpaterakis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GridDecodeBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int grids;
+
+    private String body;
+
+    @Setup
+    public void setup() {
+        body = Payloads.grids(grids);
+    }
+
+    @Benchmark
+    public ArrayList<Grid> decode() {
+        return Grid.getGridsFromJSON(new JSONObject(body));
+    }
+}
@@ -0,0 +1,109 @@
+package com.steamgriddb;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Measures the retained heap of a decoded grid catalog, compared to the
+ * previous Grid layout (a String style, an ArrayList of tags and an Author
+ * instance per Grid). Run with
+ * {@code java -cp target/benchmarks.jar com.steamgriddb.GridFootprint [grids]}.
+ *
+ * @author mpaterakis
+ */
+public class GridFootprint {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        String body = Payloads.grids(count);
+
+        long baseline = retainedHeap();
+        List<LegacyGrid> legacy = decodeLegacy(new JSONObject(body));
+        long legacyBytes = retainedHeap() - baseline;
+        System.out.printf("legacy  %,d grids: %,d bytes (%d bytes/grid)%n", legacy.size(), legacyBytes, legacyBytes / count);
+        legacy = null;
+
+        baseline = retainedHeap();
+        List<Grid> compact = Grid.getGridsFromJSON(new JSONObject(body));
+        long compactBytes = retainedHeap() - baseline;
+        System.out.printf("compact %,d grids: %,d bytes (%d bytes/grid)%n", compact.size(), compactBytes, compactBytes / count);
+        System.out.printf("saved   %.1f%%%n", 100.0 * (legacyBytes - compactBytes) / legacyBytes);
+    }
+
+    /**
+     * Get the used heap after collecting garbage.
+     *
+     * @return The used heap in bytes
+     */
+    private static long retainedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Decode a grid list into the previous Grid layout.
+     *
+     * @param json The grid list response
+     * @return The decoded grids
+     */
+    private static List<LegacyGrid> decodeLegacy(JSONObject json) {
+        JSONArray data = json.getJSONArray("data");
+        List<LegacyGrid> grids = new ArrayList<>();
+        for (int i = 0; i < data.length(); i++) {
+            JSONObject grid = data.getJSONObject(i);
+            JSONObject author = grid.getJSONObject("author");
+            ArrayList<String> tags = new ArrayList<>();
+            JSONArray jsonTags = grid.getJSONArray("tags");
+            for (int j = 0; j < jsonTags.length(); j++) {
+                tags.add(jsonTags.get(j).toString());
+            }
+            grids.add(new LegacyGrid(String.valueOf(grid.getInt("id")), grid.getDouble("score"),
+                    new String(grid.getString("style")), grid.getString("url"), grid.getString("thumb"), tags,
+                    new Author(new String(author.getString("name")), new String(author.getString("steam64")),
+                            new String(author.getString("avatar")))));
+        }
+        return grids;
+    }
+
+    /**
+     * The previous Grid layout.
+     */
+    private static class LegacyGrid {
+
+        final String id;
+        final double score;
+        final String style;
+        final String url;
+        final String thumb;
+        final ArrayList<String> tags;
+        final Author author;
+
+        LegacyGrid(String id, double score, String style, String url, String thumb, ArrayList<String> tags, Author author) {
+            this.id = id;
+            this.score = score;
+            this.style = style;
+            this.url = url;
+            this.thumb = thumb;
+            this.tags = tags;
+            this.author = author;
+        }
+    }
+
+    /**
+     * Make constructor private to give class a static nature
+     */
+    private GridFootprint() {
+    }
+}
@@ -0,0 +1,70 @@
+package com.steamgriddb;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.json.JSONObject;
+
+/**
+ * Recorded API payloads used as benchmark fixtures.
+ *
+ * @author mpaterakis
+ */
+public class Payloads {
+
+    private static final String[] STYLES = {"alternate", "no_logo", "blurred", "material"};
+
+    /**
+     * Read a recorded payload from the benchmark resources.
+     *
+     * @param name The payload's file name
+     * @return The payload's content
+     */
+    public static String read(String name) {
+        try (InputStream in = Payloads.class.getResourceAsStream("/payloads/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Build a grids response of a given size from the recorded grid payload.
+     *
+     * @param count The amount of Grids in the response
+     * @return The response body as returned by the API
+     */
+    public static String grids(int count) {
+        JSONObject template = new JSONObject(read("grid.json"));
+        StringBuilder body = new StringBuilder(count * 600).append("{\"success\":true,\"data\":[");
+        for (int i = 0; i < count; i++) {
+            template.put("id", 80 + i);
+            template.put("score", i % 7);
+            template.put("style", STYLES[i % STYLES.length]);
+            template.put("url", "https://s3.amazonaws.com/steamgriddb/grid/" + hash(i) + ".png");
+            template.put("thumb", "https://s3.amazonaws.com/steamgriddb/thumb/" + hash(i) + ".png");
+            if (i != 0) {
+                body.append(',');
+            }
+            body.append(template.toString());
+        }
+        return body.append("]}").toString();
+    }
+
+    /**
+     * Get a file name hash that is unique per grid.
+     *
+     * @param i The grid's index
+     * @return A 32 character hex hash
+     */
+    private static String hash(int i) {
+        return String.format("%016x%016x", i * 0x9E3779B97F4A7C15L, (i + 1) * 0xC2B2AE3D27D4EB4FL);
+    }
+
+    /**
+     * Make constructor private to give class a static nature
+     */
+    private Payloads() {
+    }
+}
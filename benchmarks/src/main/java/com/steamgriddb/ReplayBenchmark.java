@@ -0,0 +1,71 @@
+package com.steamgriddb;
+
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Testing.SGDBFakeServer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The public Game, Grid and Search calls, end to end, served from a recording
+ * so no network is involved.
+ *
+ * @author mpaterakis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReplayBenchmark {
+
+    private Path recording;
+
+    @Setup
+    public void setup() throws IOException {
+        recording = Files.createTempFile("sgdb-replay", ".rec");
+        Files.delete(recording);
+
+        SGDBFakeServer server = new SGDBFakeServer();
+        server.setGridsPerGame(100);
+        server.start();
+        SGDBConnectionManager.initialize(server.getApiUri(), "benchmark");
+        SGDBConnectionManager.startRecording(recording);
+        Game.getGameBySteamAppId("220");
+        Grid.getGridsByGameId("2254");
+        Search.searchGamesByName("half-life");
+        SGDBConnectionManager.stopRecording();
+        server.stop();
+
+        SGDBConnectionManager.startReplay(recording);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        SGDBConnectionManager.stopReplay();
+        Files.deleteIfExists(recording);
+    }
+
+    @Benchmark
+    public Game game() {
+        return Game.getGameBySteamAppId("220");
+    }
+
+    @Benchmark
+    public ArrayList<Grid> grids() {
+        return Grid.getGridsByGameId("2254");
+    }
+
+    @Benchmark
+    public ArrayList<Game> search() {
+        return Search.searchGamesByName("half-life");
+    }
+}
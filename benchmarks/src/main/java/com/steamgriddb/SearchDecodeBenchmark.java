@@ -0,0 +1,35 @@
+package com.steamgriddb;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Decoding of search/autocomplete responses.
+ *
+ * @author mpaterakis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SearchDecodeBenchmark {
+
+    private String body;
+
+    @Setup
+    public void setup() {
+        body = Payloads.read("autocomplete.json");
+    }
+
+    @Benchmark
+    public ArrayList<Game> decode() {
+        return Search.getGamesFromJSON(new JSONObject(body));
+    }
+}
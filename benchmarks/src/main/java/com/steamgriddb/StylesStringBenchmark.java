@@ -0,0 +1,34 @@
+package com.steamgriddb;
+
+import com.steamgriddb.Enums.SGDBStyles;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Building of the styles query parameter.
+ *
+ * @author mpaterakis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StylesStringBenchmark {
+
+    private final SGDBStyles[] oneStyle = {SGDBStyles.Blurred};
+    private final SGDBStyles[] allStyles = SGDBStyles.values();
+
+    @Benchmark
+    public String oneStyle() {
+        return Grid.buildStylesString(oneStyle);
+    }
+
+    @Benchmark
+    public String allStyles() {
+        return Grid.buildStylesString(allStyles);
+    }
+}
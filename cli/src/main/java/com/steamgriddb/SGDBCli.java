@@ -0,0 +1,381 @@
+package com.steamgriddb;
+
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Connection.SGDBEndpoints;
+import com.steamgriddb.Enums.SGDBIdTypes;
+import com.steamgriddb.Enums.SGDBStyles;
+import com.steamgriddb.Enums.SGDBUploadChecks;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.logging.LogManager;
+import org.json.JSONObject;
+
+/**
+ * A command line interface for bulk SGDB operations, meant to be built as a
+ * native image for short-lived jobs. Responses are printed to stdout as JSON,
+ * and everything else goes to stderr. Run without arguments for its usage.
+ *
+ * @author mpaterakis
+ */
+public class SGDBCli {
+
+    /*
+    * Fields
+     */
+    private static final String DEFAULT_API_URI = "https://www.steamgriddb.com/api/v2";
+    private static final int EXIT_FAILURE = 1;
+    private static final int EXIT_USAGE = 2;
+
+    private final PrintStream out;
+    private final List<String> arguments = new ArrayList<>();
+    private final Map<String, String> options = new HashMap<>();
+
+    /**
+     * Constructor for SGDBCli.
+     *
+     * @param args The command line arguments
+     * @param out The stream responses are printed to
+     */
+    private SGDBCli(String[] args, PrintStream out) {
+        this.out = out;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--") && i + 1 < args.length) {
+                options.put(args[i].substring(2), args[++i]);
+            } else {
+                arguments.add(args[i]);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        // The library prints API errors to stdout, which is kept for responses only
+        PrintStream out = System.out;
+        System.setOut(System.err);
+        configureLogging();
+
+        int status;
+        try {
+            status = new SGDBCli(args, out).run();
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            status = EXIT_USAGE;
+        }
+        out.flush();
+        System.exit(status);
+    }
+
+    /**
+     * Run the command.
+     *
+     * @return The exit status
+     */
+    private int run() {
+        if (arguments.isEmpty() || arguments.get(0).equals("help")) {
+            usage();
+            return arguments.isEmpty() ? EXIT_USAGE : 0;
+        }
+
+        String key = options.getOrDefault("key", System.getenv("SGDB_API_KEY"));
+        if (key == null) {
+            throw new IllegalArgumentException("No API key, use --key or SGDB_API_KEY");
+        }
+        SGDBConnectionManager.initialize(options.getOrDefault("api", DEFAULT_API_URI), key);
+
+        String command = arguments.get(0);
+        switch (command) {
+            case "resolve":
+                return resolve(argument(1, "id"));
+            case "search":
+                return search(String.join(" ", arguments.subList(Math.min(1, arguments.size()), arguments.size())));
+            case "grids":
+                return grids(argument(1, "id"));
+            case "download":
+                return download(argument(1, "id"), Paths.get(argument(2, "directory")));
+            case "upload":
+                return upload(argument(1, "game id"), style(argument(2, "style")), arguments.subList(3, arguments.size()));
+            case "delete":
+                return delete(arguments.subList(1, arguments.size()));
+            default:
+                throw new IllegalArgumentException("Unknown command: " + command);
+        }
+    }
+
+    /**
+     * Print a Game.
+     *
+     * @param id The Game's id
+     * @return The exit status
+     */
+    private int resolve(String id) {
+        return print(Game.getGameJSONById(id, idType()));
+    }
+
+    /**
+     * Print the Games matching a search term.
+     *
+     * @param term The search term
+     * @return The exit status
+     */
+    private int search(String term) {
+        if (term.isEmpty()) {
+            throw new IllegalArgumentException("Missing search term");
+        }
+        return print(Search.searchGamesByNameJSON(term));
+    }
+
+    /**
+     * Print the Grids of a Game.
+     *
+     * @param id The Game's id
+     * @return The exit status
+     */
+    private int grids(String id) {
+        return print(SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(idType(), id, styles())));
+    }
+
+    /**
+     * Download the images of a Game's Grids to a directory, named after the
+     * Grids' IDs. The amount of Grids can be limited with --limit.
+     *
+     * @param id The Game's id
+     * @param directory The directory (Created if it does not exist)
+     * @return The exit status
+     */
+    private int download(String id, Path directory) {
+        int limit = intOption("limit", Integer.MAX_VALUE, 0);
+        int parallelism = intOption("parallelism", 8, 1);
+        List<Grid> grids = Grid.getGridsById(id, idType(), styles());
+        if (grids.size() > limit) {
+            grids = grids.subList(0, limit);
+        }
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            System.err.println(ex);
+            return EXIT_FAILURE;
+        }
+
+        Semaphore slots = new Semaphore(parallelism);
+        List<CompletableFuture<Boolean>> downloads = new ArrayList<>();
+        for (Grid grid : grids) {
+            String url = grid.getUrl();
+            int extension = url.lastIndexOf('.');
+            Path file = directory.resolve(grid.getId() + (extension > url.lastIndexOf('/') ? url.substring(extension) : ""));
+            slots.acquireUninterruptibly();
+            downloads.add(SGDBConnectionManager.download(url).handle((bytes, ex) -> {
+                slots.release();
+                if (ex != null) {
+                    System.err.println(url + ": " + ex.getCause());
+                    return false;
+                }
+                try {
+                    Files.write(file, bytes);
+                    synchronized (out) {
+                        out.println(file);
+                    }
+                    return true;
+                } catch (IOException writeEx) {
+                    System.err.println(file + ": " + writeEx);
+                    return false;
+                }
+            }));
+        }
+
+        boolean success = true;
+        for (CompletableFuture<Boolean> download : downloads) {
+            success &= download.join();
+        }
+        return success ? 0 : EXIT_FAILURE;
+    }
+
+    /**
+     * Upload images as Grids of a Game. Every image is checked before it is
+     * sent, and one line with its outcome is printed per image.
+     *
+     * @param gameId The Game's GameId
+     * @param style The Grids' style
+     * @param files The image files
+     * @return The exit status
+     */
+    private int upload(String gameId, SGDBStyles style, List<String> files) {
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("Missing image files");
+        }
+        boolean success = true;
+        for (String file : files) {
+            SGDBUploadChecks check = Grid.checkUpload(gameId, style, file);
+            boolean uploaded = check == SGDBUploadChecks.Valid && Grid.uploadGrid(gameId, style, file);
+            out.println(file + "\t" + (check != SGDBUploadChecks.Valid ? check : uploaded ? "Uploaded" : "Failed"));
+            success &= uploaded;
+        }
+        return success ? 0 : EXIT_FAILURE;
+    }
+
+    /**
+     * Delete Grids, printing one line with the status code per Grid.
+     *
+     * @param gridIds The Grids' IDs
+     * @return The exit status
+     */
+    private int delete(List<String> gridIds) {
+        if (gridIds.isEmpty()) {
+            throw new IllegalArgumentException("Missing grid ids");
+        }
+        boolean success = true;
+        for (String gridId : gridIds) {
+            int status = SGDBConnectionManager.getStatus(SGDBConnectionManager.delete(SGDBEndpoints.gridPath(gridId)));
+            out.println(gridId + "\t" + status);
+            success &= status == 200;
+        }
+        return success ? 0 : EXIT_FAILURE;
+    }
+
+    /**
+     * Print a response's data.
+     *
+     * @param json The response
+     * @return 0 if the request succeeded, EXIT_FAILURE if otherwise
+     */
+    private int print(JSONObject json) {
+        int status = SGDBConnectionManager.getStatus(json);
+        if (status != 200) {
+            out.println(json);
+            return EXIT_FAILURE;
+        }
+        Object data = json.opt("data");
+        out.println(data != null ? data : json);
+        return 0;
+    }
+
+    /**
+     * Get a positional argument.
+     *
+     * @param index The argument's index, the command being 0
+     * @param name The argument's name, for the error message
+     * @return The argument
+     */
+    private String argument(int index, String name) {
+        if (index >= arguments.size()) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return arguments.get(index);
+    }
+
+    /**
+     * Get the id type given with --type (GameId by default).
+     *
+     * @return The id type
+     */
+    private SGDBIdTypes idType() {
+        String type = options.getOrDefault("type", "game").toLowerCase();
+        switch (type) {
+            case "game":
+                return SGDBIdTypes.GameId;
+            case "steam":
+                return SGDBIdTypes.SteamAppId;
+            case "origin":
+                return SGDBIdTypes.OriginId;
+            case "egs":
+                return SGDBIdTypes.EgsId;
+            case "uplay":
+                return SGDBIdTypes.UplayId;
+            case "gog":
+                return SGDBIdTypes.GogId;
+            default:
+                throw new IllegalArgumentException("Unknown id type: " + type);
+        }
+    }
+
+    /**
+     * Get the styles given with --styles, separated by commas.
+     *
+     * @return The styles (Empty if not given)
+     */
+    private SGDBStyles[] styles() {
+        String value = options.get("styles");
+        if (value == null || value.isEmpty()) {
+            return new SGDBStyles[0];
+        }
+        String[] names = value.split(",");
+        SGDBStyles[] styles = new SGDBStyles[names.length];
+        for (int i = 0; i < names.length; i++) {
+            styles[i] = style(names[i].trim());
+        }
+        return styles;
+    }
+
+    /**
+     * Get a whole number option.
+     *
+     * @param name The option's name, without the leading dashes
+     * @param defaultValue The value if the option is not given
+     * @param min The smallest allowed value
+     * @return The option's value
+     */
+    private int intOption(String name, int defaultValue, int min) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int number = Integer.parseInt(value.trim());
+            if (number >= min) {
+                return number;
+            }
+        } catch (NumberFormatException ex) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid --" + name + ": " + value + " (Must be a whole number of at least " + min + ")");
+    }
+
+    /**
+     * Get a style from its API name.
+     *
+     * @param name The style's API name
+     * @return The style
+     */
+    private static SGDBStyles style(String name) {
+        SGDBStyles style = SGDBStyles.fromValue(name);
+        if (style == null) {
+            throw new IllegalArgumentException("Unknown style: " + name);
+        }
+        return style;
+    }
+
+    /**
+     * Print the usage to stderr.
+     */
+    private static void usage() {
+        try (InputStream usage = SGDBCli.class.getResourceAsStream("cli-usage.txt")) {
+            System.err.print(new String(usage.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            System.err.println(ex);
+        }
+    }
+
+    /**
+     * Read the CLI's logging configuration, which logs warnings and errors
+     * to stderr without the JDK's logging.properties (Not in native images).
+     */
+    private static void configureLogging() {
+        try (InputStream config = SGDBCli.class.getResourceAsStream("cli-logging.properties")) {
+            if (config != null) {
+                LogManager.getLogManager().readConfiguration(config);
+            }
+        } catch (IOException ex) {
+            System.err.println(ex);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.steamgriddb;
 
+import java.util.Objects;
+import org.json.JSONObject;
+
 /**
  * Represents a Author as found on SteamGridDB.com
  *
@@ -10,9 +13,10 @@ public class Author {
     /*
     * Fields
     */
-    private String name = "";
-    private String steam64 = "";
-    private String avatar = "";
+    private static final Interner<Author> POOL = new Interner<>();
+    private final String name;
+    private final String steam64;
+    private final String avatar;
 
     /**
      * Constructor for Author.
@@ -27,6 +31,17 @@ public class Author {
         this.avatar = avatar;
     }
 
+    /**
+     * Get the canonical Author instance equal to the given one. Grids by the
+     * same Author share a single instance this way.
+     *
+     * @param author The Author
+     * @return The canonical Author instance
+     */
+    public static Author intern(Author author) {
+        return POOL.intern(author);
+    }
+
     /**
      * Get the Author's name.
      * 
@@ -53,6 +68,34 @@ public class Author {
     public String getAvatar() {
         return avatar;
     }
-    
-    
+
+    /**
+     * Get the Author as a JSONObject, shaped like the API's author objects.
+     *
+     * @return A JSONObject with the Author's data
+     */
+    public JSONObject toJSON() {
+        return new JSONObject()
+                .put("name", name)
+                .put("steam64", steam64)
+                .put("avatar", avatar);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Author)) {
+            return false;
+        }
+        Author other = (Author) obj;
+        return Objects.equals(name, other.name) && Objects.equals(steam64, other.steam64)
+                && Objects.equals(avatar, other.avatar);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, steam64, avatar);
+    }
 }
@@ -0,0 +1,267 @@
+package com.steamgriddb.Connection;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Caches the responses of GET requests made through SGDBConnectionManager.
+ * <p>
+ * Successful responses are kept for the positive TTL. Negative responses,
+ * a 404 for an unknown id or a successful response with no data (e.g. a
+ * Game without Grids of the requested styles), are kept for the shorter
+ * negative TTL, so lookups that find nothing are answered locally as well
+ * but picked up again soon once SGDB has data for them. Error responses,
+ * like 5xx, 429 and timeouts, are never cached. Responses are kept as
+ * their JSON text and every caller gets a newly parsed copy, so callers may
+ * modify the responses they get.
+ * <p>
+ * Responses with an ETag or Last-Modified header are kept after they
+ * expire, and the next request for them is made conditional with
+ * If-None-Match or If-Modified-Since. A 304 response then revives the cached
+ * response for another TTL, without downloading or parsing it again. If the
+ * cached response was dropped before the 304 response arrived, the request
+ * is made again without validators.
+ *
+ * @author mpaterakis
+ */
+public class SGDBCache {
+
+    /*
+    * Fields
+     */
+    private static volatile SGDBCache cache = null;
+    private final long ttl;
+    private final long negativeTtl;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+
+    /**
+     * Create an SGDBCache.
+     *
+     * @param ttl How long successful responses are kept
+     * @param negativeTtl How long negative responses are kept
+     * @param maxEntries The maximum amount of responses kept
+     */
+    private SGDBCache(Duration ttl, Duration negativeTtl, int maxEntries) {
+        this.ttl = ttl.toNanos();
+        this.negativeTtl = negativeTtl.toNanos();
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > SGDBCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Start caching responses, dropping any previously cached ones.
+     *
+     * @param ttl How long successful responses are kept
+     * @param negativeTtl How long 404 and empty responses are kept
+     * @param maxEntries The maximum amount of responses kept (Least recently used ones are dropped first)
+     */
+    public static void enable(Duration ttl, Duration negativeTtl, int maxEntries) {
+        if (ttl.isNegative() || negativeTtl.isNegative() || maxEntries < 1) {
+            throw new IllegalArgumentException("TTLs must not be negative and maxEntries must be at least 1");
+        }
+        cache = new SGDBCache(ttl, negativeTtl, maxEntries);
+    }
+
+    /**
+     * Stop caching responses and drop the cached ones.
+     */
+    public static void disable() {
+        cache = null;
+    }
+
+    /**
+     * Drop the cached responses of every API path starting with a prefix,
+     * e.g. after changing the data behind them.
+     *
+     * @param pathPrefix The prefix of the API paths (E.g. "grids/game/1234")
+     */
+    public static void invalidate(String pathPrefix) {
+        SGDBCache current = cache;
+        if (current != null) {
+            String keyPrefix = SGDBConnectionManager.getApiUri() + pathPrefix;
+            synchronized (current) {
+                current.entries.keySet().removeIf(key -> key.startsWith(keyPrefix));
+            }
+        }
+    }
+
+    /**
+     * Get the amount of GET requests answered from the cache.
+     *
+     * @return The amount of hits (0 if caching is disabled)
+     */
+    public static long getHitCount() {
+        SGDBCache current = cache;
+        return current != null ? current.hits.get() : 0;
+    }
+
+    /**
+     * Get the amount of GET requests not answered from the cache.
+     *
+     * @return The amount of misses (0 if caching is disabled)
+     */
+    public static long getMissCount() {
+        SGDBCache current = cache;
+        return current != null ? current.misses.get() : 0;
+    }
+
+    /**
+     * Get the amount of expired responses revived by a 304 response.
+     *
+     * @return The amount of revalidations (0 if caching is disabled)
+     */
+    public static long getRevalidationCount() {
+        SGDBCache current = cache;
+        return current != null ? current.revalidations.get() : 0;
+    }
+
+    /**
+     * Get the cache in use.
+     *
+     * @return The cache, or null if responses are not cached
+     */
+    static SGDBCache get() {
+        return cache;
+    }
+
+    /**
+     * Get the fresh cached response of an API path. Expired responses are
+     * dropped, unless they can be revalidated.
+     *
+     * @param APICallPath The API path
+     * @return The cached response, or null if there is none or it expired
+     */
+    synchronized JSONObject lookup(String APICallPath) {
+        String key = SGDBConnectionManager.getApiUri() + APICallPath;
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+            hits.incrementAndGet();
+            return new JSONObject(entry.body);
+        }
+        if (entry != null && entry.eTag == null && entry.lastModified == null) {
+            entries.remove(key);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Make a request for an API path conditional on the validators of its
+     * cached response, if it has any.
+     *
+     * @param APICallPath The API path
+     * @param request The request's builder
+     */
+    synchronized void addValidators(String APICallPath, HttpRequest.Builder request) {
+        Entry entry = entries.get(SGDBConnectionManager.getApiUri() + APICallPath);
+        if (entry != null) {
+            if (entry.eTag != null) {
+                request.setHeader("If-None-Match", entry.eTag);
+            }
+            if (entry.lastModified != null) {
+                request.setHeader("If-Modified-Since", entry.lastModified);
+            }
+        }
+    }
+
+    /**
+     * Renew the cached response of an API path after a 304 response.
+     *
+     * @param APICallPath The API path
+     * @return The cached response, or null if it was dropped in the meantime
+     */
+    synchronized JSONObject revive(String APICallPath) {
+        Entry entry = entries.get(SGDBConnectionManager.getApiUri() + APICallPath);
+        if (entry == null) {
+            return null;
+        }
+        entry.expiresAt = System.nanoTime() + entry.keep;
+        revalidations.incrementAndGet();
+        return new JSONObject(entry.body);
+    }
+
+    /**
+     * Cache the response of an API path, unless it is an error.
+     *
+     * @param APICallPath The API path
+     * @param json The response
+     * @param eTag The response's ETag header (May be null)
+     * @param lastModified The response's Last-Modified header (May be null)
+     */
+    void store(String APICallPath, JSONObject json, String eTag, String lastModified) {
+        int status = SGDBConnectionManager.getStatus(json);
+        long keep;
+        if (status == 404 || (status == 200 && isEmpty(json))) {
+            keep = negativeTtl;
+        } else if (status == 200) {
+            keep = ttl;
+        } else {
+            return;
+        }
+        if (keep <= 0 && eTag == null && lastModified == null) {
+            return;
+        }
+
+        String key = SGDBConnectionManager.getApiUri() + APICallPath;
+        Entry entry = new Entry(json.toString(), keep, eTag, lastModified);
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Check whether a successful response holds no data.
+     *
+     * @param json The response
+     * @return True if the response's data is missing, null or an empty array
+     */
+    private static boolean isEmpty(JSONObject json) {
+        Object data = json.opt("data");
+        return data == null || data == JSONObject.NULL || (data instanceof JSONArray && ((JSONArray) data).length() == 0);
+    }
+
+    /**
+     * A cached response.
+     */
+    private static class Entry {
+
+        /*
+        * Fields
+         */
+        private final String body;
+        private final long keep;
+        private final String eTag;
+        private final String lastModified;
+        private long expiresAt;
+
+        /**
+         * Create an Entry.
+         *
+         * @param body The response's JSON text
+         * @param keep How long the response is fresh, in nanoseconds
+         * @param eTag The response's ETag header (May be null)
+         * @param lastModified The response's Last-Modified header (May be null)
+         */
+        private Entry(String body, long keep, String eTag, String lastModified) {
+            this.body = body;
+            this.keep = keep;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.expiresAt = System.nanoTime() + keep;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.steamgriddb.Connection;
 
+import com.steamgriddb.Enums.SGDBConnectionModes;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
 import java.net.http.HttpResponse;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublisher;
@@ -12,11 +14,22 @@ import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 
 /**
@@ -31,41 +44,125 @@ public class SGDBConnectionManager {
      */
     private static String APIUri = "https://www.steamgriddb.com/API/v2/";
     private static String authKey = "";
+    private static volatile SGDBRecorder recorder = null;
+    private static volatile SGDBReplayer replayer = null;
+    private static volatile Duration connectTimeout = Duration.ofSeconds(10);
+    private static volatile Duration requestTimeout = Duration.ofSeconds(30);
+    private static volatile HttpClient client = null;
+    private static volatile SGDBHedger hedger = null;
+    private static volatile CompletableFuture<Void> readiness = CompletableFuture.completedFuture(null);
 
     /**
-     * Get a JSONObject from an API path.
+     * Get a JSONObject from an API path. If SGDBCache is enabled, the
+     * response may come from the cache.
      *
      * @param APICallPath The API path
      * @return JSONObject containing the response (Or error code if the call fails)
      */
     public static JSONObject getJSON(String APICallPath) {
-        int statusCode = 0;
+        SGDBCache cache = SGDBCache.get();
+        if (cache != null) {
+            JSONObject cached = cache.lookup(APICallPath);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-        try {
-            HttpClient client = HttpClient.newBuilder().build();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(APIUri + APICallPath))
-                    .GET()
-                    .setHeader("Authorization", "Bearer " + authKey)
-                    .build();
-
-            HttpResponse<?> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            statusCode = response.statusCode();
-            
-            System.out.println(response.toString());
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(buildUri(APICallPath))
+                .GET()
+                .setHeader("Authorization", "Bearer " + authKey);
+        HttpRequest.Builder unconditional = request.copy();
+        if (cache != null) {
+            cache.addValidators(APICallPath, request);
+        }
 
-            JSONObject json = new JSONObject(response.body().toString());
+        JSONObject json = sendGet(APICallPath, request);
+        if (getStatus(json) == 304) {
+            // No cached response to revive, so the request is made again without validators
+            json = notModifiedError(sendGet(APICallPath, unconditional));
+        }
+        return json;
+    }
 
-            if (statusCode != 200) {
-                System.out.println("API Error! Status code: " + statusCode);
+    /**
+     * Get a JSONObject from an API path without blocking. If SGDBCache is
+     * enabled, the response may come from the cache.
+     *
+     * @param APICallPath The API path
+     * @return A future of the JSONObject containing the response (Or error code if the call fails)
+     */
+    public static CompletableFuture<JSONObject> getJSONAsync(String APICallPath) {
+        SGDBCache cache = SGDBCache.get();
+        if (cache != null) {
+            JSONObject cached = cache.lookup(APICallPath);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
             }
+        }
 
-            return json;
-        } catch (IOException | InterruptedException ex) {
-            Logger.getLogger(SGDBConnectionManager.class.getName()).log(Level.SEVERE, null, ex);
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(buildUri(APICallPath))
+                .GET()
+                .setHeader("Authorization", "Bearer " + authKey);
+        HttpRequest.Builder unconditional = request.copy();
+        if (cache != null) {
+            cache.addValidators(APICallPath, request);
         }
 
-        return new JSONObject("{ \"success\": \"false\", \"status\": " + statusCode + "}");
+        CompletableFuture<JSONObject> result = new CompletableFuture<>();
+        CompletableFuture<JSONObject> first = sendAsync("GET", APICallPath, request);
+        AtomicReference<CompletableFuture<JSONObject>> current = new AtomicReference<>(first);
+        // No cached response to revive, so the request is made again without validators
+        Runnable resend = SGDBDeadline.propagate(SGDBScheduler.propagate(
+                () -> current.set(sendAsync("GET", APICallPath, unconditional))));
+        first.whenComplete((json, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else if (getStatus(json) != 304) {
+                result.complete(json);
+            } else {
+                resend.run();
+                CompletableFuture<JSONObject> retry = current.get();
+                if (result.isCancelled()) {
+                    retry.cancel(true);
+                }
+                retry.whenComplete((retried, retryEx) -> {
+                    if (retryEx != null) {
+                        result.completeExceptionally(retryEx);
+                    } else {
+                        result.complete(notModifiedError(retried));
+                    }
+                });
+            }
+        });
+        result.whenComplete((json, ex) -> {
+            if (result.isCancelled()) {
+                current.get().cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Download a file, e.g. the image of a Grid, without blocking. The file
+     * is requested without the API authorization, through the shared client
+     * and with the request timeout and current thread's deadline.
+     *
+     * @param url The file's URL
+     * @return A future of the file's contents, failing if the file cannot be downloaded
+     */
+    public static CompletableFuture<byte[]> download(String url) {
+        HttpRequest request = withTimeout(HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .GET(), SGDBDeadline.remaining());
+
+        return getClient().sendAsync(request, BodyHandlers.ofByteArray()).thenApply(response -> {
+            if (response.statusCode() != 200) {
+                throw new CompletionException(new IOException("Download failed with status code " + response.statusCode() + ": " + url));
+            }
+            return response.body();
+        });
     }
 
     
@@ -76,31 +173,12 @@ public class SGDBConnectionManager {
      * @return A JSONOBject containing the response of the request
      */
     public static JSONObject post(String APICallPath) {
-        int statusCode = 0;
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(buildUri(APICallPath))
+                .POST(BodyPublishers.ofString(""))
+                .setHeader("Authorization", "Bearer " + authKey);
 
-        try {
-            HttpClient client = HttpClient.newBuilder().build();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(APIUri + APICallPath))
-                    .POST(BodyPublishers.ofString(""))
-                    .setHeader("Authorization", "Bearer " + authKey)
-                    .build();
-
-            HttpResponse<?> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            statusCode = response.statusCode();
-
-            JSONObject json = new JSONObject(response.body().toString());
-
-            if (statusCode != 200) {
-                System.out.println("API Error! Status code: " + statusCode);
-            }
-
-            return json;
-        } catch (IOException | InterruptedException ex) {
-            Logger.getLogger(SGDBConnectionManager.class.getName()).log(Level.SEVERE, null, ex);
-        }
-
-        return new JSONObject("{ \"success\": \"false\", \"status\": " + statusCode + "}");
+        return send("POST", APICallPath, request);
     }
 
     
@@ -112,33 +190,25 @@ public class SGDBConnectionManager {
      * @return A JSONObject containing the response of the request
      */
     public static JSONObject postMultipart(String APICallPath, Map<Object, Object> params) {
-        int statusCode = 0;
-        
+        SGDBReplayer currentReplayer = replayer;
+        if (currentReplayer != null) {
+            return replay("POST", APICallPath, currentReplayer);
+        }
+
         try {
             String boundary = new BigInteger(256, new Random()).toString();
-            HttpClient client = HttpClient.newBuilder().build();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(APIUri + APICallPath))
+            HttpRequest.Builder request = HttpRequest.newBuilder()
+                    .uri(buildUri(APICallPath))
                     .headers("Content-Type", "multipart/form-data;boundary=" + boundary,
                             "Authorization", "Bearer " + authKey)
-                    .POST(ofMimeMultipartData(params, boundary))
-                    .build();
-
-            HttpResponse<?> response = client.send(request, BodyHandlers.ofString());
-            statusCode = response.statusCode();
-
-            JSONObject json = new JSONObject(response.body().toString());
+                    .POST(ofMimeMultipartData(params, boundary));
 
-            if (statusCode != 200) {
-                System.out.println("API Error! Status code: " + statusCode + ",  Error: " + json.getJSONArray("errors"));
-            }
-
-            return json;
-        } catch (IOException | InterruptedException ex) {
+            return send("POST", APICallPath, request);
+        } catch (IOException ex) {
             Logger.getLogger(SGDBConnectionManager.class.getName()).log(Level.SEVERE, null, ex);
         }
 
-        return new JSONObject("{ \"success\": \"false\", \"status\": " + statusCode + "}");
+        return new JSONObject("{ \"success\": \"false\", \"status\": 0}");
     }
 
     /**
@@ -148,31 +218,583 @@ public class SGDBConnectionManager {
      * @return A JSONObject containing the response of the request
      */
     public static JSONObject delete(String APICallPath) {
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(buildUri(APICallPath))
+                .DELETE()
+                .setHeader("Authorization", "Bearer " + authKey);
+
+        return send("DELETE", APICallPath, request);
+    }
+
+    /**
+     * Send a request and parse its response. In replay mode the response is
+     * taken from the recording instead, and in record mode it is written to it.
+     *
+     * @param method The request's method
+     * @param APICallPath The request's API path
+     * @param request The request
+     * @return A JSONObject containing the response of the request (Or error code if the call fails)
+     */
+    private static JSONObject send(String method, String APICallPath, HttpRequest.Builder request) {
+        SGDBReplayer currentReplayer = replayer;
+        if (currentReplayer != null) {
+            return replay(method, APICallPath, currentReplayer);
+        }
+
+        SGDBScheduler scheduler = SGDBScheduler.get();
+        JSONObject rejected = admit(scheduler);
+        if (rejected != null) {
+            return rejected;
+        }
+
         int statusCode = 0;
 
         try {
-            HttpClient client = HttpClient.newBuilder().build();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(APIUri + APICallPath))
-                    .DELETE()
-                    .setHeader("Authorization", "Bearer " + authKey)
-                    .build();
-
-            HttpResponse<?> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = getClient().send(withTimeout(request, SGDBDeadline.remaining()), BodyHandlers.ofString());
             statusCode = response.statusCode();
 
-            JSONObject json = new JSONObject(response.body().toString());
+            return parseResponse(method, APICallPath, response);
+        } catch (HttpTimeoutException ex) {
+            return timeoutResponse();
+        } catch (IOException | InterruptedException ex) {
+            Logger.getLogger(SGDBConnectionManager.class.getName()).log(Level.SEVERE, null, ex);
+        } finally {
+            if (scheduler != null) {
+                scheduler.release();
+            }
+        }
+
+        return new JSONObject("{ \"success\": \"false\", \"status\": " + statusCode + "}");
+    }
+
+    /**
+     * Take the response of a request from a recording.
+     *
+     * @param method The request's method
+     * @param APICallPath The request's API path
+     * @param currentReplayer The SGDBReplayer read by the caller
+     * @return A JSONObject containing the recorded response of the request
+     */
+    private static JSONObject replay(String method, String APICallPath, SGDBReplayer currentReplayer) {
+        return cache(method, APICallPath, currentReplayer.replay(method, APICallPath), null, null);
+    }
+
+    /**
+     * Send a GET request, and send it a second time if it has not been
+     * answered within the hedge delay. The first response is used and the
+     * other request is cancelled. Hedges are only sent if the scheduler can
+     * admit them without overtaking queued requests.
+     *
+     * @param APICallPath The request's API path
+     * @param request The request
+     * @param hedger The SGDBHedger deciding on the hedge
+     * @return A JSONObject containing the response of the request (Or error code if the call fails)
+     */
+    private static JSONObject sendHedged(String APICallPath, HttpRequest.Builder request, SGDBHedger hedger) {
+        SGDBScheduler scheduler = SGDBScheduler.get();
+        JSONObject rejected = admit(scheduler);
+        if (rejected != null) {
+            return rejected;
+        }
+
+        long delay = hedger.onRequest();
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> primary = getClient().sendAsync(withTimeout(request, SGDBDeadline.remaining()), BodyHandlers.ofString());
+        CompletableFuture<HttpResponse<String>> hedge = null;
 
-            if (statusCode != 200) {
-                System.out.println("API Error! Status code: " + statusCode);
+        try {
+            HttpResponse<String> response = null;
+            if (delay >= 0) {
+                try {
+                    response = primary.get(delay, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException ex) {
+                    if (!SGDBDeadline.isExpired() && (scheduler == null || scheduler.tryAcquire())) {
+                        if (hedger.tryHedge()) {
+                            hedge = getClient().sendAsync(withTimeout(request, SGDBDeadline.remaining()), BodyHandlers.ofString());
+                        } else if (scheduler != null) {
+                            scheduler.release();
+                        }
+                    }
+                }
+            }
+            if (response == null) {
+                response = hedge != null ? firstOf(primary, hedge).get() : primary.get();
             }
+            hedger.onResponse(System.nanoTime() - start, response.statusCode());
 
-            return json;
-        } catch (IOException | InterruptedException ex) {
+            return parseResponse("GET", APICallPath, response);
+        } catch (ExecutionException ex) {
+            if (isTimeout(ex.getCause())) {
+                return timeoutResponse();
+            }
             Logger.getLogger(SGDBConnectionManager.class.getName()).log(Level.SEVERE, null, ex);
+        } catch (InterruptedException ex) {
+            Logger.getLogger(SGDBConnectionManager.class.getName()).log(Level.SEVERE, null, ex);
+        } finally {
+            primary.cancel(true);
+            if (scheduler != null) {
+                scheduler.release();
+            }
+            if (hedge != null) {
+                hedge.cancel(true);
+                if (scheduler != null) {
+                    scheduler.release();
+                }
+            }
         }
 
-        return new JSONObject("{ \"success\": \"false\", \"status\": " + statusCode + "}");
+        return new JSONObject("{ \"success\": \"false\", \"status\": 0}");
+    }
+
+    /**
+     * Get a future of whichever of two futures completes first. It only
+     * fails if both fail.
+     *
+     * @param <T> The futures' type
+     * @param first The first future
+     * @param second The second future
+     * @return A future of the first result
+     */
+    private static <T> CompletableFuture<T> firstOf(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        BiConsumer<T, Throwable> onComplete = (value, ex) -> {
+            if (ex == null) {
+                result.complete(value);
+            } else if (failures.incrementAndGet() == 2) {
+                result.completeExceptionally(ex);
+            }
+        };
+        first.whenComplete(onComplete);
+        second.whenComplete(onComplete);
+        return result;
+    }
+
+    /**
+     * Send a request without blocking. Cancelling the returned future also
+     * cancels the underlying exchange, or drops the request from the
+     * scheduler's queue if it was not admitted yet.
+     *
+     * @param method The request's method
+     * @param APICallPath The request's API path
+     * @param request The request
+     * @return A future of the JSONObject containing the response of the request (Or error code if the call fails)
+     */
+    private static CompletableFuture<JSONObject> sendAsync(String method, String APICallPath, HttpRequest.Builder request) {
+        SGDBReplayer currentReplayer = replayer;
+        if (currentReplayer != null) {
+            return CompletableFuture.completedFuture(replay(method, APICallPath, currentReplayer));
+        }
+
+        Duration remaining = SGDBDeadline.remaining();
+        if (remaining != null && (remaining.isNegative() || remaining.isZero())) {
+            return CompletableFuture.completedFuture(timeoutResponse());
+        }
+
+        long start = System.nanoTime();
+        SGDBScheduler scheduler = SGDBScheduler.get();
+        CompletableFuture<Void> admission = scheduler != null
+                ? scheduler.acquire(SGDBScheduler.getPriority()) : CompletableFuture.completedFuture(null);
+        if (remaining != null) {
+            admission.orTimeout(remaining.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        CompletableFuture<JSONObject> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<HttpResponse<String>>> exchange = new AtomicReference<>();
+        admission.whenComplete((admitted, admissionEx) -> {
+            if (admissionEx != null) {
+                result.complete(isTimeout(admissionEx) ? timeoutResponse() : new JSONObject("{ \"success\": \"false\", \"status\": 0}"));
+                return;
+            }
+            Duration left = remaining != null ? remaining.minusNanos(System.nanoTime() - start) : null;
+            if (result.isDone() || (left != null && (left.isNegative() || left.isZero()))) {
+                if (scheduler != null) {
+                    scheduler.release();
+                }
+                result.complete(timeoutResponse());
+                return;
+            }
+            CompletableFuture<HttpResponse<String>> started = getClient().sendAsync(withTimeout(request, left), BodyHandlers.ofString());
+            exchange.set(started);
+            if (result.isCancelled()) {
+                started.cancel(true);
+            }
+            started.whenComplete((response, ex) -> {
+                if (scheduler != null) {
+                    scheduler.release();
+                }
+                if (ex != null) {
+                    if (isTimeout(ex)) {
+                        result.complete(timeoutResponse());
+                        return;
+                    }
+                    Logger.getLogger(SGDBConnectionManager.class.getName()).log(Level.SEVERE, null, ex);
+                    result.complete(new JSONObject("{ \"success\": \"false\", \"status\": 0}"));
+                    return;
+                }
+                result.complete(parseResponse(method, APICallPath, response));
+            });
+        });
+        result.whenComplete((json, ex) -> {
+            if (result.isCancelled()) {
+                admission.cancel(false);
+                CompletableFuture<HttpResponse<String>> started = exchange.get();
+                if (started != null) {
+                    started.cancel(true);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Wait for the scheduler to admit a request of the current thread, for
+     * at most the time left until the current thread's deadline. Admitted
+     * requests must be released when done.
+     *
+     * @param scheduler The scheduler (Null if requests are not scheduled)
+     * @return Null if the request is admitted, otherwise the response to return for it
+     */
+    private static JSONObject admit(SGDBScheduler scheduler) {
+        if (SGDBDeadline.isExpired()) {
+            return timeoutResponse();
+        }
+        if (scheduler == null) {
+            return null;
+        }
+
+        CompletableFuture<Void> admission = scheduler.acquire(SGDBScheduler.getPriority());
+        try {
+            Duration remaining = SGDBDeadline.remaining();
+            if (remaining != null) {
+                admission.get(Math.max(0, remaining.toNanos()), TimeUnit.NANOSECONDS);
+            } else {
+                admission.get();
+            }
+            return null;
+        } catch (TimeoutException | ExecutionException ex) {
+            if (!admission.cancel(false)) {
+                scheduler.release();
+            }
+            return timeoutResponse();
+        } catch (InterruptedException ex) {
+            if (!admission.cancel(false)) {
+                scheduler.release();
+            }
+            Logger.getLogger(SGDBConnectionManager.class.getName()).log(Level.SEVERE, null, ex);
+            return new JSONObject("{ \"success\": \"false\", \"status\": 0}");
+        }
+    }
+
+    /**
+     * Check whether an exception of a request is due to a timeout.
+     *
+     * @param ex The exception
+     * @return True if the request timed out
+     */
+    private static boolean isTimeout(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof HttpTimeoutException || cause instanceof TimeoutException;
+    }
+
+    /**
+     * Get the shared HTTP client, creating it if needed. Sharing one client
+     * lets requests reuse its pooled connections.
+     *
+     * @return The HTTP client
+     */
+    static HttpClient getClient() {
+        HttpClient current = client;
+        if (current == null) {
+            synchronized (SGDBConnectionManager.class) {
+                current = client;
+                if (current == null) {
+                    current = HttpClient.newBuilder()
+                            .connectTimeout(connectTimeout)
+                            .build();
+                    client = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Build a request with a timeout of the request timeout or the time left
+     * until the deadline, whichever is shorter.
+     *
+     * @param request The request's builder
+     * @param remaining The time left until the deadline (Null if there is none)
+     * @return The request
+     */
+    private static HttpRequest withTimeout(HttpRequest.Builder request, Duration remaining) {
+        Duration timeout = requestTimeout;
+        if (remaining != null && (timeout == null || remaining.compareTo(timeout) < 0)) {
+            timeout = remaining.isNegative() || remaining.isZero() ? Duration.ofMillis(1) : remaining;
+        }
+        if (timeout != null) {
+            request.timeout(timeout);
+        }
+        return request.build();
+    }
+
+    /**
+     * Create the response returned for requests that timed out.
+     *
+     * @return A JSONObject marking a timed out request
+     */
+    private static JSONObject timeoutResponse() {
+        return new JSONObject("{ \"success\": \"false\", \"status\": 0, \"timeout\": true}");
+    }
+
+    /**
+     * Parse a response, recording it first if in record mode, and cache it
+     * if it is the response of a GET request. Responses with a status code
+     * other than 200 get a "status" field with the status code. A 304
+     * response revives the cached response it revalidated, which is returned
+     * instead.
+     *
+     * @param method The request's method
+     * @param APICallPath The request's API path
+     * @param response The response
+     * @return A JSONObject containing the response
+     */
+    private static JSONObject parseResponse(String method, String APICallPath, HttpResponse<String> response) {
+        int statusCode = response.statusCode();
+        String body = statusCode == 304 ? "{}" : response.body();
+
+        SGDBRecorder currentRecorder = recorder;
+        if (currentRecorder != null) {
+            currentRecorder.record(method, APICallPath, statusCode, body);
+        }
+
+        JSONObject json = parseBody(body, statusCode);
+
+        if (statusCode != 200) {
+            if (!json.has("status")) {
+                json.put("status", statusCode);
+            }
+            if (statusCode != 304) {
+                JSONArray errors = json.optJSONArray("errors");
+                System.out.println("API Error! Status code: " + statusCode + (errors != null ? ",  Error: " + errors : ""));
+            }
+        }
+
+        return cache(method, APICallPath, json,
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null));
+    }
+
+    /**
+     * Cache the response of a GET request, or revive the cached response a
+     * 304 response revalidated.
+     *
+     * @param method The request's method
+     * @param APICallPath The request's API path
+     * @param json The response
+     * @param eTag The response's ETag header (May be null)
+     * @param lastModified The response's Last-Modified header (May be null)
+     * @return The response, or the revived response for a 304 response (The 304 response itself if there is nothing to revive)
+     */
+    private static JSONObject cache(String method, String APICallPath, JSONObject json, String eTag, String lastModified) {
+        SGDBCache cache = SGDBCache.get();
+        if (cache == null || !method.equals("GET")) {
+            return json;
+        }
+        if (getStatus(json) == 304) {
+            JSONObject revived = cache.revive(APICallPath);
+            return revived != null ? revived : json;
+        }
+        cache.store(APICallPath, json, eTag, lastModified);
+        return json;
+    }
+
+    /**
+     * Send a GET request, hedged if hedging is enabled.
+     *
+     * @param APICallPath The request's API path
+     * @param request The request
+     * @return A JSONObject containing the response of the request (Or error code if the call fails)
+     */
+    private static JSONObject sendGet(String APICallPath, HttpRequest.Builder request) {
+        SGDBHedger currentHedger = hedger;
+        if (currentHedger != null && replayer == null) {
+            return sendHedged(APICallPath, request, currentHedger);
+        }
+        return send("GET", APICallPath, request);
+    }
+
+    /**
+     * Replace a 304 response no cached response was revived for with an
+     * error, as it has no body for the caller.
+     *
+     * @param json The response
+     * @return The response, or an error if it is a 304 response
+     */
+    private static JSONObject notModifiedError(JSONObject json) {
+        if (getStatus(json) != 304) {
+            return json;
+        }
+        return new JSONObject()
+                .put("success", false)
+                .put("status", 304)
+                .put("errors", new JSONArray().put("Not modified, but there is no cached response"));
+    }
+
+    /**
+     * Parse a response body. A body that is not JSON, e.g. the HTML error
+     * page of a proxy, is replaced by an error with the response's status
+     * code (0 if the status code was 200).
+     *
+     * @param body The response body
+     * @param statusCode The response's status code
+     * @return A JSONObject containing the body (Or error code if it is not JSON)
+     */
+    static JSONObject parseBody(String body, int statusCode) {
+        try {
+            return new JSONObject(body);
+        } catch (JSONException ex) {
+            return new JSONObject()
+                    .put("success", false)
+                    .put("status", statusCode != 200 ? statusCode : 0)
+                    .put("errors", new JSONArray().put("The response is not JSON"));
+        }
+    }
+
+    /**
+     * Start recording every request and its response to a file. Responses
+     * are appended, so a recording can be built over several runs.
+     *
+     * @param recordingPath The recording's file
+     * @throws IOException If the file cannot be opened
+     */
+    public static synchronized void startRecording(Path recordingPath) throws IOException {
+        stopRecording();
+        recorder = new SGDBRecorder(recordingPath);
+    }
+
+    /**
+     * Stop recording and close the recording's file.
+     */
+    public static synchronized void stopRecording() {
+        if (recorder != null) {
+            recorder.close();
+            recorder = null;
+        }
+    }
+
+    /**
+     * Start serving every request from a recording, without any network access.
+     *
+     * @param recordingPath The recording's file
+     * @throws IOException If the file cannot be read
+     */
+    public static synchronized void startReplay(Path recordingPath) throws IOException {
+        replayer = new SGDBReplayer(recordingPath);
+    }
+
+    /**
+     * Stop serving requests from a recording.
+     */
+    public static synchronized void stopReplay() {
+        replayer = null;
+    }
+
+    /**
+     * Get the current connection mode.
+     *
+     * @return Replay if serving from a recording, Record if recording, Live otherwise
+     */
+    public static SGDBConnectionModes getMode() {
+        if (replayer != null) {
+            return SGDBConnectionModes.Replay;
+        }
+        return recorder != null ? SGDBConnectionModes.Record : SGDBConnectionModes.Live;
+    }
+
+    /**
+     * Get the HTTP status code of a response returned by this class.
+     *
+     * @param json The response
+     * @return The status code (200 for successful responses, 0 if no response was received)
+     */
+    public static int getStatus(JSONObject json) {
+        if (json.has("status")) {
+            return json.optInt("status", 0);
+        }
+        return json.optBoolean("success", false) ? 200 : 0;
+    }
+
+    /**
+     * Hedge GET requests: a GET request that has not been answered after the
+     * given percentile of recent latencies is sent a second time, and the
+     * first response is used. Hedging starts once enough latencies were seen.
+     *
+     * @param percentile The latency percentile to wait before hedging (E.g. 95)
+     * @param budget The fraction of requests that may be hedged (E.g. 0.05)
+     */
+    public static void enableHedging(double percentile, double budget) {
+        if (percentile < 0 || percentile > 100 || budget < 0 || budget > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100 and budget between 0 and 1");
+        }
+        hedger = new SGDBHedger(percentile, budget);
+    }
+
+    /**
+     * Stop hedging GET requests.
+     */
+    public static void disableHedging() {
+        hedger = null;
+    }
+
+    /**
+     * Check whether a response returned by this class is due to a timeout,
+     * either of the request or of the current thread's deadline.
+     *
+     * @param json The response
+     * @return True if the request timed out
+     */
+    public static boolean isTimeout(JSONObject json) {
+        return json.optBoolean("timeout", false);
+    }
+
+    /**
+     * Get the time allowed for establishing a connection.
+     *
+     * @return The connect timeout
+     */
+    public static Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Set the time allowed for establishing a connection. Pooled connections
+     * are dropped, as the shared client is rebuilt with the new timeout.
+     *
+     * @param connectTimeout The connect timeout
+     */
+    public static synchronized void setConnectTimeout(Duration connectTimeout) {
+        SGDBConnectionManager.connectTimeout = connectTimeout;
+        client = null;
+    }
+
+    /**
+     * Get the time allowed for a request's response to arrive.
+     *
+     * @return The request timeout (Null if requests may wait indefinitely)
+     */
+    public static Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Set the time allowed for a request's response to arrive. Deadlines set
+     * with SGDBDeadline can shorten it further.
+     *
+     * @param requestTimeout The request timeout (Null to wait indefinitely)
+     */
+    public static void setRequestTimeout(Duration requestTimeout) {
+        SGDBConnectionManager.requestTimeout = requestTimeout;
     }
 
     /**
@@ -225,12 +847,104 @@ public class SGDBConnectionManager {
         SGDBConnectionManager.authKey = authKey;
     }
 
+    /**
+     * Initialize SGDBConnectionManager's values and start warming up
+     * connections to the API in the background.
+     *
+     * @param APIUri The API base uri
+     * @param authKey The API authorization key
+     * @param warmConnections The amount of concurrent warm up requests
+     * @see #warmUp(int)
+     */
+    public static void initialize(String APIUri, String authKey, int warmConnections) {
+        initialize(APIUri, authKey);
+        warmUp(warmConnections);
+    }
+
+    /**
+     * Warm up the connection to the API in the background, so the first
+     * requests do not pay for DNS resolution and the TCP, TLS and HTTP/2
+     * handshakes. Concurrent HEAD requests are sent to the API base uri and
+     * the connection is then kept in the shared client's pool. Over HTTP/2
+     * the requests are multiplexed as streams of a single connection, so one
+     * connection is primed no matter how many requests are sent; only over
+     * HTTP/1.1 does every request open a pooled connection of its own. They
+     * are not scheduled, recorded or replayed.
+     *
+     * @param connections The amount of concurrent warm up requests
+     * @return A future completing once warm up is done, failing if no request succeeded or the
+     * API base uri is not set or not valid
+     */
+    public static synchronized CompletableFuture<Void> warmUp(int connections) {
+        if (replayer != null || connections < 1) {
+            readiness = CompletableFuture.completedFuture(null);
+            return readiness;
+        }
+
+        if (APIUri == null) {
+            readiness = CompletableFuture.failedFuture(new IllegalStateException("The API base uri is not set"));
+            return readiness;
+        }
+        URI uri;
+        try {
+            uri = URI.create(APIUri);
+        } catch (IllegalArgumentException ex) {
+            readiness = CompletableFuture.failedFuture(ex);
+            return readiness;
+        }
+        HttpRequest request = withTimeout(HttpRequest.newBuilder()
+                .uri(uri)
+                .method("HEAD", BodyPublishers.noBody())
+                .setHeader("Authorization", "Bearer " + authKey), null);
+        AtomicInteger remaining = new AtomicInteger(connections);
+        AtomicInteger opened = new AtomicInteger();
+        CompletableFuture<Void> warm = new CompletableFuture<>();
+        for (int i = 0; i < connections; i++) {
+            getClient().sendAsync(request, BodyHandlers.discarding()).whenComplete((response, ex) -> {
+                if (ex == null) {
+                    opened.incrementAndGet();
+                } else {
+                    Logger.getLogger(SGDBConnectionManager.class.getName()).log(Level.WARNING, null, ex);
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    if (opened.get() > 0) {
+                        warm.complete(null);
+                    } else {
+                        warm.completeExceptionally(new IOException("No connection to " + APIUri + " could be opened"));
+                    }
+                }
+            });
+        }
+        readiness = warm;
+        return warm;
+    }
+
+    /**
+     * Get a future completing once the last warm up started is done, e.g.
+     * to report an instance as ready only when its connections are warm.
+     *
+     * @return The readiness future (Already complete if no warm up was started)
+     */
+    public static CompletableFuture<Void> getReadiness() {
+        return readiness;
+    }
+
     /**
      * Make constructor private to give class a static nature
      */
     private SGDBConnectionManager() {
     }
 
+    /**
+     * Build the full URI of an API path.
+     *
+     * @param APICallPath The API path
+     * @return The URI of the API path under the API base uri
+     */
+    static URI buildUri(String APICallPath) {
+        return URI.create(APIUri + APICallPath);
+    }
+
     /**
      * Create a multipart body. [Taken from https://golb.hplar.ch/2019/01/java-11-http-client.html].
      *
@@ -239,7 +953,7 @@ public class SGDBConnectionManager {
      * @return A multipart BodyPublisher
      * @throws IOException
      */
-    private static BodyPublisher ofMimeMultipartData(Map<Object, Object> data, String boundary) throws IOException {
+    static BodyPublisher ofMimeMultipartData(Map<Object, Object> data, String boundary) throws IOException {
         var byteArrays = new ArrayList<byte[]>();
         byte[] separator = ("--" + boundary + "\r\nContent-Disposition: form-data; name=").getBytes(StandardCharsets.UTF_8);
         for (Map.Entry<Object, Object> entry : data.entrySet()) {
@@ -0,0 +1,143 @@
+package com.steamgriddb.Connection;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Per-call deadlines for requests made through SGDBConnectionManager.
+ * <p>
+ * A deadline applies to every request made by the current thread within
+ * {@link #call(Duration, Supplier)}, including retries. Requests get the
+ * remaining time as their timeout, and once the deadline has passed they
+ * fail right away with a timeout result (see
+ * {@link SGDBConnectionManager#isTimeout(org.json.JSONObject)}). Bulk
+ * operations carry the deadline of the calling thread over to their worker
+ * threads with {@link #propagate(Runnable)}.
+ *
+ * @author mpaterakis
+ */
+public class SGDBDeadline {
+
+    /*
+    * Fields
+     */
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    /**
+     * Make a call with a deadline. A deadline already set on this thread is
+     * kept if it is earlier.
+     *
+     * @param <T> The call's result type
+     * @param timeout The time the call may take
+     * @param call The call
+     * @return The call's result
+     */
+    public static <T> T call(Duration timeout, Supplier<T> call) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Long outer = DEADLINE.get();
+        if (outer != null && outer - deadline < 0) {
+            deadline = outer;
+        }
+        return callUntil(deadline, call);
+    }
+
+    /**
+     * Get the time left until the current thread's deadline.
+     *
+     * @return The remaining time (Negative once passed), or null if there is no deadline
+     */
+    public static Duration remaining() {
+        Long deadline = DEADLINE.get();
+        return deadline != null ? Duration.ofNanos(deadline - System.nanoTime()) : null;
+    }
+
+    /**
+     * Check whether the current thread's deadline has passed.
+     *
+     * @return True if there is a deadline and it has passed
+     */
+    public static boolean isExpired() {
+        Long deadline = DEADLINE.get();
+        return deadline != null && deadline - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Wrap a task so it runs with the current thread's deadline, wherever it
+     * is executed.
+     *
+     * @param task The task
+     * @return The wrapped task (The task itself if there is no deadline)
+     */
+    public static Runnable propagate(Runnable task) {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> callUntil(deadline, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Wrap a task so it runs with the current thread's deadline, wherever it
+     * is executed.
+     *
+     * @param <T> The task's result type
+     * @param task The task
+     * @return The wrapped task (The task itself if there is no deadline)
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            Long previous = DEADLINE.get();
+            DEADLINE.set(deadline);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Make a call with an absolute deadline.
+     *
+     * @param <T> The call's result type
+     * @param deadline The deadline, in System.nanoTime() terms
+     * @param call The call
+     * @return The call's result
+     */
+    private static <T> T callUntil(long deadline, Supplier<T> call) {
+        Long previous = DEADLINE.get();
+        DEADLINE.set(deadline);
+        try {
+            return call.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Restore the deadline that was set before a call.
+     *
+     * @param previous The previous deadline (May be null)
+     */
+    private static void restore(Long previous) {
+        if (previous == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(previous);
+        }
+    }
+
+    /**
+     * Make constructor private to give class a static nature
+     */
+    private SGDBDeadline() {
+    }
+}
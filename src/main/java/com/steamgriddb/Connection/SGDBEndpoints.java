@@ -0,0 +1,147 @@
+package com.steamgriddb.Connection;
+
+import com.steamgriddb.Enums.SGDBIdTypes;
+import com.steamgriddb.Enums.SGDBStyles;
+import java.util.EnumMap;
+
+/**
+ * Builds the API paths of SGDB's endpoints. Route prefixes and the styles
+ * query of every possible set of styles are computed once, so building a
+ * path only costs a single, exactly sized StringBuilder.
+ *
+ * @author mpaterakis
+ */
+public class SGDBEndpoints {
+
+    /*
+    * Fields
+     */
+    private static final EnumMap<SGDBIdTypes, String> GAME_ROUTES = new EnumMap<>(SGDBIdTypes.class);
+    private static final EnumMap<SGDBIdTypes, String> GRID_ROUTES = new EnumMap<>(SGDBIdTypes.class);
+    private static final SGDBStyles[] STYLES = SGDBStyles.values();
+    private static final String[] STYLE_LISTS = new String[1 << STYLES.length];
+    private static final String[] STYLE_QUERIES = new String[1 << STYLES.length];
+
+    static {
+        GAME_ROUTES.put(SGDBIdTypes.SteamAppId, "games/steam/");
+        GAME_ROUTES.put(SGDBIdTypes.OriginId, "games/origin/");
+        GAME_ROUTES.put(SGDBIdTypes.EgsId, "games/egs/");
+        GAME_ROUTES.put(SGDBIdTypes.UplayId, "games/uplay/");
+        GAME_ROUTES.put(SGDBIdTypes.GogId, "games/gog/");
+        GAME_ROUTES.put(SGDBIdTypes.GameId, "games/id/");
+
+        GRID_ROUTES.put(SGDBIdTypes.SteamAppId, "grids/steam/");
+        GRID_ROUTES.put(SGDBIdTypes.OriginId, "grids/origin/");
+        GRID_ROUTES.put(SGDBIdTypes.EgsId, "grids/egs/");
+        GRID_ROUTES.put(SGDBIdTypes.UplayId, "grids/uplay/");
+        GRID_ROUTES.put(SGDBIdTypes.GogId, "grids/gog/");
+        GRID_ROUTES.put(SGDBIdTypes.GameId, "grids/game/");
+
+        for (int mask = 0; mask < STYLE_LISTS.length; mask++) {
+            StringBuilder list = new StringBuilder();
+            for (SGDBStyles style : STYLES) {
+                if ((mask & (1 << style.ordinal())) != 0) {
+                    if (list.length() > 0) {
+                        list.append(',');
+                    }
+                    list.append(style.getValue());
+                }
+            }
+            STYLE_LISTS[mask] = list.toString();
+            STYLE_QUERIES[mask] = mask == 0 ? "" : "?styles=" + list;
+        }
+    }
+
+    /**
+     * Get the API path of a Game.
+     *
+     * @param type The type of the given id
+     * @param id The id of the Game (Already URL encoded)
+     * @return The API path
+     */
+    public static String gamePath(SGDBIdTypes type, String id) {
+        String route = GAME_ROUTES.get(type);
+        return new StringBuilder(route.length() + id.length()).append(route).append(id).toString();
+    }
+
+    /**
+     * Get the API path of a Game's Grids.
+     *
+     * @param type The type of the given id
+     * @param id The id of the Game (Already URL encoded)
+     * @param styles The styles to filter by (Empty or null for all styles)
+     * @return The API path
+     */
+    public static String gridsPath(SGDBIdTypes type, String id, SGDBStyles[] styles) {
+        return gridsPath(type, id, styleMask(styles));
+    }
+
+    /**
+     * Get the API path of a Game's Grids.
+     *
+     * @param type The type of the given id
+     * @param id The id of the Game (Already URL encoded)
+     * @param styleMask The styles to filter by, as a mask from {@link #styleMask(SGDBStyles[])}
+     * @return The API path
+     */
+    public static String gridsPath(SGDBIdTypes type, String id, int styleMask) {
+        String route = GRID_ROUTES.get(type);
+        String query = STYLE_QUERIES[styleMask];
+        return new StringBuilder(route.length() + id.length() + query.length())
+                .append(route).append(id).append(query).toString();
+    }
+
+    /**
+     * Get the API path for voting on a Grid.
+     *
+     * @param up True for an upvote, false for a downvote
+     * @param gridId The Grid's ID
+     * @return The API path
+     */
+    public static String votePath(boolean up, String gridId) {
+        String route = up ? "grids/vote/up/" : "grids/vote/down/";
+        return new StringBuilder(route.length() + gridId.length()).append(route).append(gridId).toString();
+    }
+
+    /**
+     * Get the API path of a single Grid.
+     *
+     * @param gridId The Grid's ID
+     * @return The API path
+     */
+    public static String gridPath(String gridId) {
+        return new StringBuilder(6 + gridId.length()).append("grids/").append(gridId).toString();
+    }
+
+    /**
+     * Get the mask of a set of styles, with one bit per style ordinal.
+     *
+     * @param styles The styles (May be null)
+     * @return The styles' mask
+     */
+    public static int styleMask(SGDBStyles... styles) {
+        int mask = 0;
+        if (styles != null) {
+            for (SGDBStyles style : styles) {
+                mask |= 1 << style.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Get the comma separated API names of a set of styles.
+     *
+     * @param styleMask The styles' mask
+     * @return The styles' API names, separated by commas
+     */
+    public static String stylesList(int styleMask) {
+        return STYLE_LISTS[styleMask];
+    }
+
+    /**
+     * Make constructor private to give class a static nature
+     */
+    private SGDBEndpoints() {
+    }
+}
@@ -0,0 +1,92 @@
+package com.steamgriddb.Connection;
+
+import java.util.Arrays;
+
+/**
+ * Decides when and how often GET requests are hedged.
+ * <p>
+ * The hedge delay is a percentile of the latencies of recent requests, and
+ * hedges are limited to a fraction of all requests by a budget that every
+ * request adds to and every hedge takes from. Throttled responses empty the
+ * budget, so hedges do not add to the load of a server that is already
+ * rate limiting.
+ *
+ * @author mpaterakis
+ */
+class SGDBHedger {
+
+    /*
+    * Fields
+     */
+    private static final int WINDOW = 512;
+    private static final int MIN_SAMPLES = 20;
+    private static final int REFRESH_INTERVAL = 32;
+    private static final double MAX_CREDITS = 10;
+    private final double percentile;
+    private final double budget;
+    private final long[] latencies = new long[WINDOW];
+    private int next = 0;
+    private int samples = 0;
+    private int sinceRefresh = 0;
+    private long delay = -1;
+    private double credits = 0;
+
+    /**
+     * Create an SGDBHedger.
+     *
+     * @param percentile The latency percentile to wait before hedging (Between 0 and 100)
+     * @param budget The fraction of requests that may be hedged (Between 0 and 1)
+     */
+    SGDBHedger(double percentile, double budget) {
+        this.percentile = percentile;
+        this.budget = budget;
+    }
+
+    /**
+     * Get the delay before a request is hedged, and add the request to the
+     * budget.
+     *
+     * @return The delay in nanoseconds, or -1 if not enough latencies were seen yet
+     */
+    synchronized long onRequest() {
+        credits = Math.min(MAX_CREDITS, credits + budget);
+        return delay;
+    }
+
+    /**
+     * Take a hedge from the budget.
+     *
+     * @return True if the request may be hedged
+     */
+    synchronized boolean tryHedge() {
+        if (credits < 1) {
+            return false;
+        }
+        credits -= 1;
+        return true;
+    }
+
+    /**
+     * Add the latency of a completed request.
+     *
+     * @param nanos The latency in nanoseconds
+     * @param statusCode The status code of the response
+     */
+    synchronized void onResponse(long nanos, int statusCode) {
+        if (statusCode == 429) {
+            credits = 0;
+        }
+        latencies[next] = nanos;
+        next = (next + 1) % WINDOW;
+        if (samples < WINDOW) {
+            samples++;
+        }
+        if (samples >= MIN_SAMPLES && (delay < 0 || ++sinceRefresh >= REFRESH_INTERVAL)) {
+            long[] window = Arrays.copyOf(latencies, samples);
+            Arrays.sort(window);
+            int rank = (int) Math.ceil(percentile / 100 * window.length) - 1;
+            delay = window[Math.max(0, Math.min(window.length - 1, rank))];
+            sinceRefresh = 0;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.steamgriddb.Connection;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Appends request/response pairs to a recording file.
+ * <p>
+ * A recording starts with the {@link #MAGIC} header, followed by one entry per
+ * response: the method (1 byte), the status code (2 bytes), the API path's
+ * length (4 bytes) and UTF-8 bytes, and the body's length (4 bytes) and UTF-8
+ * bytes. It is read back by {@link SGDBReplayer}.
+ *
+ * @author mpaterakis
+ */
+class SGDBRecorder {
+
+    /*
+    * Fields
+     */
+    static final byte[] MAGIC = "SGDBREC1".getBytes(StandardCharsets.US_ASCII);
+    static final String[] METHODS = {"GET", "POST", "DELETE"};
+
+    private final DataOutputStream out;
+
+    /**
+     * Constructor for SGDBRecorder.
+     *
+     * @param path The recording's file
+     * @throws IOException If the file cannot be opened
+     */
+    SGDBRecorder(Path path) throws IOException {
+        boolean isNew = !Files.exists(path) || Files.size(path) == 0;
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE), 64 * 1024));
+        if (isNew) {
+            out.write(MAGIC);
+        }
+    }
+
+    /**
+     * Record a response.
+     *
+     * @param method The request's method
+     * @param APICallPath The request's API path
+     * @param statusCode The response's status code
+     * @param body The response's body
+     */
+    synchronized void record(String method, String APICallPath, int statusCode, String body) {
+        byte[] path = APICallPath.getBytes(StandardCharsets.UTF_8);
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        try {
+            out.writeByte(methodCode(method));
+            out.writeShort(statusCode);
+            out.writeInt(path.length);
+            out.write(path);
+            out.writeInt(content.length);
+            out.write(content);
+            out.flush();
+        } catch (IOException ex) {
+            Logger.getLogger(SGDBRecorder.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Close the recording's file.
+     */
+    synchronized void close() {
+        try {
+            out.close();
+        } catch (IOException ex) {
+            Logger.getLogger(SGDBRecorder.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Get the code a method is stored as.
+     *
+     * @param method The method
+     * @return The method's code
+     */
+    static int methodCode(String method) {
+        for (int i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported method: " + method);
+    }
+}
@@ -0,0 +1,119 @@
+package com.steamgriddb.Connection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.json.JSONObject;
+
+/**
+ * Serves responses from a recording written by {@link SGDBRecorder}.
+ * <p>
+ * The file is memory-mapped and only an index of entry offsets is kept on the
+ * heap; bodies are decoded when they are replayed. When a request was recorded
+ * more than once, its responses are served in recorded order, wrapping around
+ * after the last one.
+ *
+ * @author mpaterakis
+ */
+class SGDBReplayer {
+
+    /*
+    * Fields
+     */
+    private final MappedByteBuffer buffer;
+    private final Map<String, Entries> index = new HashMap<>();
+
+    /**
+     * Constructor for SGDBReplayer.
+     *
+     * @param path The recording's file
+     * @throws IOException If the file cannot be read or is not a recording
+     */
+    SGDBReplayer(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        ByteBuffer reader = buffer.duplicate();
+        byte[] magic = new byte[SGDBRecorder.MAGIC.length];
+        if (reader.remaining() < magic.length) {
+            throw new IOException("Not an SGDB recording: " + path);
+        }
+        reader.get(magic);
+        if (!Arrays.equals(magic, SGDBRecorder.MAGIC)) {
+            throw new IOException("Not an SGDB recording: " + path);
+        }
+
+        while (reader.hasRemaining()) {
+            String method = SGDBRecorder.METHODS[reader.get()];
+            int entry = reader.position();
+            reader.getShort();
+            byte[] pathBytes = new byte[reader.getInt()];
+            reader.get(pathBytes);
+            int bodyLength = reader.getInt();
+            reader.position(reader.position() + bodyLength);
+
+            String key = method + " " + new String(pathBytes, StandardCharsets.UTF_8);
+            index.computeIfAbsent(key, k -> new Entries()).add(entry);
+        }
+    }
+
+    /**
+     * Replay the response of a request.
+     *
+     * @param method The request's method
+     * @param APICallPath The request's API path
+     * @return A JSONObject containing the recorded response (Or an error if it was never recorded)
+     */
+    JSONObject replay(String method, String APICallPath) {
+        Entries entries = index.get(method + " " + APICallPath);
+        if (entries == null) {
+            return new JSONObject()
+                    .put("success", false)
+                    .put("status", 0)
+                    .put("errors", new String[]{"No recorded response for " + method + " " + APICallPath});
+        }
+
+        ByteBuffer reader = buffer.duplicate();
+        reader.position(entries.next());
+        int statusCode = reader.getShort() & 0xFFFF;
+        int pathLength = reader.getInt();
+        reader.position(reader.position() + pathLength);
+        byte[] body = new byte[reader.getInt()];
+        reader.get(body);
+        JSONObject json = SGDBConnectionManager.parseBody(new String(body, StandardCharsets.UTF_8), statusCode);
+        if (statusCode != 200 && !json.has("status")) {
+            json.put("status", statusCode);
+        }
+        return json;
+    }
+
+    /**
+     * The offsets of all recorded responses of a single request.
+     */
+    private static class Entries {
+
+        private int[] offsets = new int[1];
+        private int size = 0;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        void add(int offset) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = offset;
+        }
+
+        int next() {
+            return offsets[Math.floorMod(cursor.getAndIncrement(), size)];
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.steamgriddb.Connection;
+
+import com.steamgriddb.Enums.SGDBPriorities;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Schedules the requests made through SGDBConnectionManager by priority.
+ * <p>
+ * Once enabled, requests share a concurrency limit and a rate limit. Queued
+ * requests are admitted by weighted fair queuing: every priority gets a
+ * share of the admissions in proportion to its weight, so with the default
+ * weights Interactive requests jump ahead of queued Background work while
+ * Background work still progresses. A request's priority is the priority of
+ * the thread making it, set with {@link #call(SGDBPriorities, Supplier)}, and
+ * is Interactive by default.
+ *
+ * @author mpaterakis
+ */
+public class SGDBScheduler {
+
+    /*
+    * Fields
+     */
+    private static final ThreadLocal<SGDBPriorities> PRIORITY = new ThreadLocal<>();
+    private static final Map<SGDBPriorities, Integer> WEIGHTS = new EnumMap<>(SGDBPriorities.class);
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SGDBScheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile SGDBScheduler scheduler = null;
+    private final int maxConcurrent;
+    private final double rate;
+    private final double burst;
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>();
+    private final Map<SGDBPriorities, Double> finishTags = new EnumMap<>(SGDBPriorities.class);
+    private double virtualTime = 0;
+    private long sequence = 0;
+    private int inFlight = 0;
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+    private boolean refillPending = false;
+
+    static {
+        WEIGHTS.put(SGDBPriorities.Interactive, 8);
+        WEIGHTS.put(SGDBPriorities.Background, 1);
+    }
+
+    /**
+     * Create an SGDBScheduler.
+     *
+     * @param maxConcurrent The maximum amount of concurrent requests
+     * @param rate The maximum amount of requests per second (0 for no limit)
+     */
+    private SGDBScheduler(int maxConcurrent, double rate) {
+        this.maxConcurrent = maxConcurrent;
+        this.rate = rate;
+        this.burst = Math.max(1, rate);
+        this.tokens = burst;
+    }
+
+    /**
+     * Start scheduling requests.
+     *
+     * @param maxConcurrent The maximum amount of concurrent requests
+     * @param requestsPerSecond The maximum amount of requests per second (0 for no limit)
+     */
+    public static void enable(int maxConcurrent, double requestsPerSecond) {
+        if (maxConcurrent < 1 || requestsPerSecond < 0) {
+            throw new IllegalArgumentException("Concurrency must be at least 1 and rate not negative");
+        }
+        scheduler = new SGDBScheduler(maxConcurrent, requestsPerSecond);
+    }
+
+    /**
+     * Stop scheduling requests. Requests already queued are still admitted.
+     */
+    public static void disable() {
+        scheduler = null;
+    }
+
+    /**
+     * Set the share of admissions a priority gets relative to the others.
+     *
+     * @param priority The priority
+     * @param weight The weight (Interactive is 8 and Background is 1 by default)
+     */
+    public static synchronized void setWeight(SGDBPriorities priority, int weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Weight must be at least 1");
+        }
+        WEIGHTS.put(priority, weight);
+    }
+
+    /**
+     * Make a call with a priority.
+     *
+     * @param <T> The call's result type
+     * @param priority The priority of the call's requests
+     * @param call The call
+     * @return The call's result
+     */
+    public static <T> T call(SGDBPriorities priority, Supplier<T> call) {
+        SGDBPriorities previous = PRIORITY.get();
+        PRIORITY.set(priority);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                PRIORITY.remove();
+            } else {
+                PRIORITY.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Get the priority of the current thread's requests.
+     *
+     * @return The priority
+     */
+    public static SGDBPriorities getPriority() {
+        SGDBPriorities priority = PRIORITY.get();
+        return priority != null ? priority : SGDBPriorities.Interactive;
+    }
+
+    /**
+     * Wrap a task so it runs with a priority, wherever it is executed.
+     *
+     * @param priority The priority
+     * @param task The task
+     * @return The wrapped task
+     */
+    public static Runnable withPriority(SGDBPriorities priority, Runnable task) {
+        return () -> call(priority, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Wrap a task so it runs with the current thread's priority, wherever it
+     * is executed.
+     *
+     * @param task The task
+     * @return The wrapped task
+     */
+    public static Runnable propagate(Runnable task) {
+        return withPriority(getPriority(), task);
+    }
+
+    /**
+     * Wrap a task so it runs with the current thread's priority, wherever it
+     * is executed.
+     *
+     * @param <T> The task's result type
+     * @param task The task
+     * @return The wrapped task
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        SGDBPriorities priority = getPriority();
+        return () -> {
+            SGDBPriorities previous = PRIORITY.get();
+            PRIORITY.set(priority);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    PRIORITY.remove();
+                } else {
+                    PRIORITY.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Get the scheduler in use.
+     *
+     * @return The scheduler, or null if requests are not scheduled
+     */
+    static SGDBScheduler get() {
+        return scheduler;
+    }
+
+    /**
+     * Queue a request. The returned future completes once the request is
+     * admitted, after which {@link #release()} must be called when it is
+     * done. A request no longer needed can be dropped from the queue by
+     * cancelling or otherwise completing the future.
+     *
+     * @param priority The request's priority
+     * @return A future completing on admission
+     */
+    CompletableFuture<Void> acquire(SGDBPriorities priority) {
+        CompletableFuture<Void> admission = new CompletableFuture<>();
+        synchronized (this) {
+            double weight;
+            synchronized (SGDBScheduler.class) {
+                weight = WEIGHTS.get(priority);
+            }
+            double tag = Math.max(virtualTime, finishTags.getOrDefault(priority, 0.0)) + 1 / weight;
+            finishTags.put(priority, tag);
+            queue.add(new Waiter(tag, sequence++, admission));
+        }
+        dispatch();
+        return admission;
+    }
+
+    /**
+     * Admit a request right away if that does not overtake queued requests.
+     * {@link #release()} must be called when an admitted request is done.
+     *
+     * @return True if the request is admitted
+     */
+    synchronized boolean tryAcquire() {
+        refill();
+        if (!queue.isEmpty() || inFlight >= maxConcurrent || (rate > 0 && tokens < 1)) {
+            return false;
+        }
+        inFlight++;
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Mark an admitted request as done.
+     */
+    void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        dispatch();
+    }
+
+    /**
+     * Admit queued requests while the concurrency and rate limits allow.
+     * Admissions are completed outside the lock, as completing them runs the
+     * requests' follow-up work.
+     */
+    private void dispatch() {
+        List<Waiter> admitted = new ArrayList<>();
+        synchronized (this) {
+            refill();
+            while (inFlight < maxConcurrent && !queue.isEmpty()) {
+                if (queue.peek().admission.isDone()) {
+                    queue.poll();
+                    continue;
+                }
+                if (rate > 0 && tokens < 1) {
+                    if (!refillPending) {
+                        refillPending = true;
+                        long delay = (long) Math.ceil((1 - tokens) / rate * 1_000_000_000L);
+                        TIMER.schedule(() -> {
+                            synchronized (this) {
+                                refillPending = false;
+                            }
+                            dispatch();
+                        }, delay, TimeUnit.NANOSECONDS);
+                    }
+                    break;
+                }
+                Waiter waiter = queue.poll();
+                virtualTime = waiter.tag;
+                inFlight++;
+                tokens -= 1;
+                admitted.add(waiter);
+            }
+        }
+        for (Waiter waiter : admitted) {
+            if (!waiter.admission.complete(null)) {
+                release();
+            }
+        }
+    }
+
+    /**
+     * Add the tokens earned since the last refill.
+     */
+    private void refill() {
+        long now = System.nanoTime();
+        if (rate > 0) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) * rate / 1_000_000_000L);
+        }
+        lastRefill = now;
+    }
+
+    /**
+     * A queued request.
+     */
+    private static class Waiter implements Comparable<Waiter> {
+
+        /*
+        * Fields
+         */
+        private final double tag;
+        private final long sequence;
+        private final CompletableFuture<Void> admission;
+
+        /**
+         * Create a Waiter.
+         *
+         * @param tag The request's virtual finish tag
+         * @param sequence The request's position in arrival order
+         * @param admission The future completing on admission
+         */
+        private Waiter(double tag, long sequence, CompletableFuture<Void> admission) {
+            this.tag = tag;
+            this.sequence = sequence;
+            this.admission = admission;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            int byTag = Double.compare(tag, other.tag);
+            return byTag != 0 ? byTag : Long.compare(sequence, other.sequence);
+        }
+    }
+}
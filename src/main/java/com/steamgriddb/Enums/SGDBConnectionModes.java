@@ -0,0 +1,12 @@
+package com.steamgriddb.Enums;
+
+/**
+ * ENUM containing the modes SGDBConnectionManager can operate in.
+ *
+ * @author mpaterakis
+ */
+public enum SGDBConnectionModes {
+    Live,
+    Record,
+    Replay
+}
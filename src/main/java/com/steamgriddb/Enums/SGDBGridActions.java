@@ -0,0 +1,12 @@
+package com.steamgriddb.Enums;
+
+/**
+ * ENUM containing the actions that can be queued for a Grid.
+ *
+ * @author mpaterakis
+ */
+public enum SGDBGridActions {
+    Upvote,
+    Downvote,
+    Delete
+}
@@ -0,0 +1,11 @@
+package com.steamgriddb.Enums;
+
+/**
+ * ENUM containing the priorities requests can be scheduled with.
+ *
+ * @author mpaterakis
+ */
+public enum SGDBPriorities {
+    Interactive,
+    Background
+}
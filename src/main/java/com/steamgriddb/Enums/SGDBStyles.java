@@ -6,8 +6,47 @@ package com.steamgriddb.Enums;
  * @author mpaterakis
  */
 public enum SGDBStyles {
-    Alternate,
-    NoLogo,
-    Blurred,
-    Material
+    Alternate("alternate"),
+    NoLogo("no_logo"),
+    Blurred("blurred"),
+    Material("material");
+
+    /*
+    * Fields
+     */
+    private static final SGDBStyles[] VALUES = values();
+    private final String value;
+
+    /**
+     * Constructor for SGDBStyles.
+     *
+     * @param value The Style's name as used by the API
+     */
+    SGDBStyles(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Get the Style's name as used by the API.
+     *
+     * @return The Style's API name
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Get a Style from its name as used by the API.
+     *
+     * @param value The Style's API name
+     * @return The matching SGDBStyles, or null if there is none
+     */
+    public static SGDBStyles fromValue(String value) {
+        for (SGDBStyles style : VALUES) {
+            if (style.value.equals(value)) {
+                return style;
+            }
+        }
+        return null;
+    }
 }
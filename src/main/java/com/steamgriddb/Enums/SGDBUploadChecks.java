@@ -0,0 +1,14 @@
+package com.steamgriddb.Enums;
+
+/**
+ * ENUM containing the results of checking an image before uploading it.
+ *
+ * @author mpaterakis
+ */
+public enum SGDBUploadChecks {
+    Valid,
+    Unreadable,
+    UnsupportedFormat,
+    WrongDimensions,
+    Duplicate
+}
@@ -0,0 +1,150 @@
+package com.steamgriddb.Export;
+
+import com.steamgriddb.Game;
+import com.steamgriddb.Grid;
+import com.steamgriddb.Sync.SyncResult;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+import org.json.JSONObject;
+
+/**
+ * Writes Games and Grids as newline-delimited JSON while they are fetched,
+ * so exporting a catalog takes the same memory regardless of its size.
+ * <p>
+ * Every line is one record with a "type" field: "game" records hold a Game's
+ * data, "grid" records hold a Grid's data and the "game_id" it belongs to.
+ * The exporter can be handed to {@link com.steamgriddb.Sync.LibrarySync#setListener(Consumer)}
+ * or {@link com.steamgriddb.Sync.LibrarySync#readResults(Path, Consumer)}. It
+ * is safe to use from several threads.
+ *
+ * @author mpaterakis
+ */
+public class NDJSONExporter implements Consumer<SyncResult>, Closeable {
+
+    /*
+    * Fields
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final Writer writer;
+    private long records = 0;
+
+    /**
+     * Constructor for NDJSONExporter. An existing file is replaced.
+     *
+     * @param path The export's file
+     * @param gzip True to gzip the export
+     * @throws IOException If the file cannot be opened
+     */
+    public NDJSONExporter(Path path, boolean gzip) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        OutputStream out = Channels.newOutputStream(channel);
+        if (gzip) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Write a Game record.
+     *
+     * @param game The Game
+     * @throws IOException If the record cannot be written
+     */
+    public void writeGame(Game game) throws IOException {
+        write(game.toJSON().put("type", "game"));
+    }
+
+    /**
+     * Write a Grid record.
+     *
+     * @param gameId The GameId of the Grid's Game (May be null)
+     * @param grid The Grid
+     * @throws IOException If the record cannot be written
+     */
+    public void writeGrid(String gameId, Grid grid) throws IOException {
+        JSONObject record = grid.toJSON().put("type", "grid");
+        if (gameId != null) {
+            record.put("game_id", JSONObject.stringToValue(gameId));
+        }
+        write(record);
+    }
+
+    /**
+     * Write the records of a synced id: its Game followed by its Grids.
+     * Ids SGDB does not know are skipped.
+     *
+     * @param result The synced id
+     * @throws IOException If the records cannot be written
+     */
+    public synchronized void writeResult(SyncResult result) throws IOException {
+        if (!result.isFound()) {
+            return;
+        }
+        writeGame(result.getGame());
+        for (Grid grid : result.getGrids()) {
+            writeGrid(result.getGame().getId(), grid);
+        }
+    }
+
+    /**
+     * Write the records of a synced id.
+     *
+     * @param result The synced id
+     * @throws UncheckedIOException If the records cannot be written
+     */
+    @Override
+    public void accept(SyncResult result) {
+        try {
+            writeResult(result);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get the amount of records written so far.
+     *
+     * @return The amount of records
+     */
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    /**
+     * Flush the written records and close the file.
+     *
+     * @throws IOException If the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+        channel.close();
+    }
+
+    /**
+     * Write a single record.
+     *
+     * @param record The record
+     * @throws IOException If the record cannot be written
+     */
+    private synchronized void write(JSONObject record) throws IOException {
+        record.write(writer);
+        writer.write('\n');
+        records++;
+    }
+}
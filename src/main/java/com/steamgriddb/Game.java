@@ -1,10 +1,14 @@
 package com.steamgriddb;
 
 import com.steamgriddb.Enums.SGDBIdTypes;
+import com.steamgriddb.Index.AutocompleteIndex;
+import com.steamgriddb.Index.GameIdIndex;
 import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Connection.SGDBEndpoints;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.json.JSONObject;
@@ -31,40 +35,151 @@ public class Game {
      * @param type The type of the given id [OriginId, EgsId, UplayId]
      */
     public Game(String id, SGDBIdTypes type) {
+        this(getGameJSONById(id, type));
+
+        AutocompleteIndex index = AutocompleteIndex.getDefault();
+        if (index != null) {
+            index.add(this);
+        }
+    }
+
+    /**
+     * Constructor for Game from an API response.
+     *
+     * @param json A JSONObject containing the API's response for a Game
+     */
+    public Game(JSONObject json) {
+        if (json.getBoolean("success")) {
+            parseData(json.getJSONObject("data"));
+        }
+    }
+
+    /**
+     * Constructor for Game from already known values.
+     *
+     * @param id The GameId of the Game
+     * @param name The name of the Game
+     * @param types The types of the Game
+     */
+    public Game(String id, String name, ArrayList<String> types) {
+        this.id = id;
+        this.name = name;
+        this.types = types;
+    }
+
+    /**
+     * Get a Game object from a JSONObject returned by the API.
+     *
+     * @param json A JSONObject containing the API's response for a Game
+     * @return A Game object
+     */
+    public static Game getGameFromJSON(JSONObject json) {
+        Game game = new Game(json);
+        return game;
+    }
+
+    /**
+     * Get a JSONObject of a Game from any type of ID. If a default
+     * GameIdIndex is set, known ids are looked up by GameId and new ones are
+     * added to it.
+     *
+     * @param id The id of the Game
+     * @param type The type of the given id
+     * @return A JSONObject object with the Game's data
+     */
+    public static JSONObject getGameJSONById(String id, SGDBIdTypes type) {
+        GameIdIndex index = GameIdIndex.getDefault();
+        String knownGameId = index != null ? index.getGameId(type, id) : null;
+        if (knownGameId != null) {
+            return SGDBConnectionManager.getJSON(SGDBEndpoints.gamePath(SGDBIdTypes.GameId, encodeId(knownGameId)));
+        }
+
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gamePath(type, encodeId(id)));
+        return indexGameId(index, type, id, json);
+    }
+
+    /**
+     * Get a JSONObject of a Game from any type of ID without blocking. Ids
+     * are looked up and added to the default GameIdIndex as in
+     * {@link #getGameJSONById(String, SGDBIdTypes)}.
+     *
+     * @param id The id of the Game
+     * @param type The type of the given id
+     * @return A future of a JSONObject object with the Game's data
+     */
+    public static CompletableFuture<JSONObject> getGameJSONByIdAsync(String id, SGDBIdTypes type) {
+        GameIdIndex index = GameIdIndex.getDefault();
+        String knownGameId = index != null ? index.getGameId(type, id) : null;
+        if (knownGameId != null) {
+            return SGDBConnectionManager.getJSONAsync(SGDBEndpoints.gamePath(SGDBIdTypes.GameId, encodeId(knownGameId)));
+        }
+
+        return SGDBConnectionManager.getJSONAsync(SGDBEndpoints.gamePath(type, encodeId(id)))
+                .thenApply(json -> indexGameId(index, type, id, json));
+    }
+
+    /**
+     * URL-encode an id for use in an API path.
+     *
+     * @param id The id
+     * @return The encoded id
+     */
+    private static String encodeId(String id) {
+        String encodedId = id;
         try {
-            id = URLEncoder.encode(id, "UTF-8");
+            encodedId = URLEncoder.encode(id, "UTF-8");
         } catch (UnsupportedEncodingException ex) {
             Logger.getLogger(Game.class.getName()).log(Level.SEVERE, null, ex);
         }
-        JSONObject json = new JSONObject();
-
-        switch (type) {
-            case SteamAppId:
-                json = getGameJSONBySteamAppId(id);
-                break;
-            case GameId:
-                json = getGameJSONByGameId(id);
-                break;
-            case GogId:
-                json = getGameJSONByGogId(id);
-                break;
-            case OriginId:
-                json = getGameJSONByOriginId(id);
-                break;
-            case EgsId:
-                json = getGameJSONByEgsId(id);
-                break;
-            case UplayId:
-                json = getGameJSONByUplayId(id);
-                break;
-            default:
-                break;
+        return encodedId;
+    }
+
+    /**
+     * Add the GameId of a successful response to a GameIdIndex.
+     *
+     * @param index The GameIdIndex (May be null)
+     * @param type The type of the requested id
+     * @param id The requested id
+     * @param json The response
+     * @return The response
+     */
+    private static JSONObject indexGameId(GameIdIndex index, SGDBIdTypes type, String id, JSONObject json) {
+        if (index != null && json.optBoolean("success", false)) {
+            index.put(type, id, String.valueOf(json.getJSONObject("data").getInt("id")));
         }
+        return json;
+    }
 
-        if (json.getBoolean("success")) {
-            this.id = String.valueOf(json.getJSONObject("data").getInt("id"));
-            this.name = json.getJSONObject("data").getString("name");
-            JSONArray typesArray = json.getJSONObject("data").getJSONArray("types");
+    /**
+     * Create a Game from a single Game's "data" JSONObject, as found in
+     * autocomplete results.
+     *
+     * @param data The JSONObject describing a single Game
+     * @return A Game object
+     */
+    static Game fromData(JSONObject data) {
+        Game game = new Game();
+        game.parseData(data);
+        return game;
+    }
+
+    /**
+     * Empty constructor used when parsing Games from JSON.
+     */
+    Game() {
+    }
+
+    /**
+     * Fill this Game's fields from a Game's "data" JSONObject.
+     *
+     * @param data The JSONObject describing a single Game
+     */
+    void parseData(JSONObject data) {
+        this.id = String.valueOf(data.getInt("id"));
+        this.name = data.getString("name");
+        JSONArray typesArray = data.optJSONArray("types");
+        if (typesArray != null) {
+            this.types.ensureCapacity(typesArray.length());
             for (int i = 0; i < typesArray.length(); i++) {
                 this.types.add(typesArray.get(i).toString());
             }
@@ -89,7 +204,7 @@ public class Game {
      * @return A JSONObject object with the Game's data
      */
     public static JSONObject getGameJSONBySteamAppId(String steamAppId) {
-        JSONObject json = SGDBConnectionManager.getJSON("games/steam/" + steamAppId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gamePath(SGDBIdTypes.SteamAppId, steamAppId));
         return json;
     }
 
@@ -111,7 +226,7 @@ public class Game {
      * @return A JSONObject object with the Game's data
      */
     public static JSONObject getGameJSONByEgsId(String egsId) {
-        JSONObject json = SGDBConnectionManager.getJSON("games/egs/" + egsId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gamePath(SGDBIdTypes.EgsId, egsId));
         return json;
     }
 
@@ -133,7 +248,7 @@ public class Game {
      * @return A JSONObject object with the Game's data
      */
     public static JSONObject getGameJSONByOriginId(String originId) {
-        JSONObject json = SGDBConnectionManager.getJSON("games/origin/" + originId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gamePath(SGDBIdTypes.OriginId, originId));
         return json;
     }
 
@@ -155,7 +270,7 @@ public class Game {
      * @return A JSONObject object with the Game's data
      */
     public static JSONObject getGameJSONByUplayId(String uplayId) {
-        JSONObject json = SGDBConnectionManager.getJSON("games/uplay/" + uplayId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gamePath(SGDBIdTypes.UplayId, uplayId));
         return json;
     }
 
@@ -177,7 +292,7 @@ public class Game {
      * @return A JSONObject object with the Game's data
      */
     public static JSONObject getGameJSONByGogId(String gogId) {
-        JSONObject json = SGDBConnectionManager.getJSON("games/gog/" + gogId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gamePath(SGDBIdTypes.GogId, gogId));
         return json;
     }
 
@@ -199,7 +314,7 @@ public class Game {
      * @return A JSONObject object with the Game's data
      */
     public static JSONObject getGameJSONByGameId(String gameId) {
-        JSONObject json = SGDBConnectionManager.getJSON("games/id/" + gameId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gamePath(SGDBIdTypes.GameId, gameId));
         return json;
     }
 
@@ -229,4 +344,16 @@ public class Game {
     public ArrayList<String> getTypes() {
         return types;
     }
+
+    /**
+     * Get the Game as a JSONObject, shaped like the API's game data.
+     *
+     * @return A JSONObject with the Game's data
+     */
+    public JSONObject toJSON() {
+        return new JSONObject()
+                .put("id", JSONObject.stringToValue(id))
+                .put("name", name)
+                .put("types", new JSONArray(types));
+    }
 }
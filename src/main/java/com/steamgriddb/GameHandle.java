@@ -0,0 +1,289 @@
+package com.steamgriddb;
+
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Enums.SGDBIdTypes;
+import com.steamgriddb.Index.AutocompleteIndex;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.json.JSONObject;
+
+/**
+ * A lightweight handle to a Game, created without any network access.
+ * <p>
+ * The Game's data is fetched on first access, or ahead of time with
+ * {@link #hydrate()} and {@link #hydrateAll(Collection)}. Pending handles are
+ * hydrated together: handles of the same id share a single request, and
+ * requests are sent asynchronously with a bounded amount in flight, so large
+ * collections of handles cost nothing until their data is needed and then
+ * do not flood the API. Handles of Games SGDB does not know hydrate to null.
+ * Hydrations failing for other reasons are retried on the next access.
+ *
+ * @author mpaterakis
+ */
+public class GameHandle {
+
+    /*
+    * Fields
+     */
+    private static final int MAX_IN_FLIGHT = 16;
+    private static final Object LOCK = new Object();
+    private static final LinkedHashMap<String, List<GameHandle>> queued = new LinkedHashMap<>();
+    private static final HashMap<String, List<GameHandle>> inFlight = new HashMap<>();
+    private final String id;
+    private final SGDBIdTypes idType;
+    private CompletableFuture<Game> game = null;
+
+    /**
+     * Constructor for GameHandle. No request is made until the Game's data
+     * is needed.
+     *
+     * @param id The id of the Game
+     * @param idType The type of the given id
+     */
+    public GameHandle(String id, SGDBIdTypes idType) {
+        this.id = id;
+        this.idType = idType;
+    }
+
+    /**
+     * Get a GameHandle of an already fetched Game.
+     *
+     * @param game The Game
+     * @return A hydrated GameHandle
+     */
+    public static GameHandle of(Game game) {
+        GameHandle handle = new GameHandle(game.getId(), SGDBIdTypes.GameId);
+        handle.game = CompletableFuture.completedFuture(game);
+        return handle;
+    }
+
+    /**
+     * Start hydrating many GameHandles at once.
+     *
+     * @param handles The GameHandles
+     * @return A future completing once every GameHandle is hydrated
+     */
+    public static CompletableFuture<Void> hydrateAll(Collection<GameHandle> handles) {
+        List<CompletableFuture<Game>> futures = new ArrayList<>(handles.size());
+        synchronized (LOCK) {
+            for (GameHandle handle : handles) {
+                futures.add(handle.request());
+            }
+        }
+        pump();
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Start hydrating this GameHandle, if it is not hydrated or being
+     * hydrated already.
+     *
+     * @return A future of the Game (Null if SGDB does not know the Game)
+     */
+    public CompletableFuture<Game> hydrate() {
+        CompletableFuture<Game> future;
+        synchronized (LOCK) {
+            future = request();
+        }
+        pump();
+        return future;
+    }
+
+    /**
+     * Check whether this GameHandle's data has been fetched.
+     *
+     * @return True if the Game is available without waiting
+     */
+    public boolean isHydrated() {
+        synchronized (LOCK) {
+            return game != null && game.isDone();
+        }
+    }
+
+    /**
+     * Get the Game, fetching it if needed.
+     *
+     * @return The Game (Null if SGDB does not know it or it could not be fetched)
+     */
+    public Game getGame() {
+        return hydrate().join();
+    }
+
+    /**
+     * Get the id the GameHandle was created with.
+     *
+     * @return The id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Get the type of the id the GameHandle was created with.
+     *
+     * @return The type of the id
+     */
+    public SGDBIdTypes getIdType() {
+        return idType;
+    }
+
+    /**
+     * Get the GameId, fetching the Game if needed.
+     *
+     * @return The GameId (Empty if the Game is not available)
+     */
+    public String getGameId() {
+        if (idType == SGDBIdTypes.GameId) {
+            return id;
+        }
+        Game current = getGame();
+        return current != null ? current.getId() : "";
+    }
+
+    /**
+     * Get the name of the Game, fetching it if needed.
+     *
+     * @return The name (Empty if the Game is not available)
+     */
+    public String getName() {
+        Game current = getGame();
+        return current != null ? current.getName() : "";
+    }
+
+    /**
+     * Get the types of the Game, fetching it if needed.
+     *
+     * @return The types (Empty if the Game is not available)
+     */
+    public ArrayList<String> getTypes() {
+        Game current = getGame();
+        return current != null ? current.getTypes() : new ArrayList<>();
+    }
+
+    /**
+     * Queue this GameHandle for hydration unless it already is. Must be
+     * called while holding the lock.
+     *
+     * @return The future of the Game
+     */
+    private CompletableFuture<Game> request() {
+        if (game == null) {
+            game = new CompletableFuture<>();
+            String key = key();
+            List<GameHandle> sharing = inFlight.get(key);
+            if (sharing != null) {
+                sharing.add(this);
+            } else {
+                queued.computeIfAbsent(key, k -> new ArrayList<>()).add(this);
+            }
+        }
+        return game;
+    }
+
+    /**
+     * Send queued requests while fewer than the maximum are in flight.
+     * Requests failing before they are sent are finished right away, which
+     * frees their slots for the next queued requests.
+     */
+    private static void pump() {
+        boolean failed;
+        do {
+            failed = false;
+            List<GameHandle> starting = new ArrayList<>();
+            synchronized (LOCK) {
+                Iterator<Map.Entry<String, List<GameHandle>>> iterator = queued.entrySet().iterator();
+                while (inFlight.size() < MAX_IN_FLIGHT && iterator.hasNext()) {
+                    Map.Entry<String, List<GameHandle>> entry = iterator.next();
+                    iterator.remove();
+                    inFlight.put(entry.getKey(), entry.getValue());
+                    starting.add(entry.getValue().get(0));
+                }
+            }
+
+            for (GameHandle handle : starting) {
+                String key = handle.key();
+                try {
+                    Game.getGameJSONByIdAsync(handle.id, handle.idType)
+                            .whenCompleteAsync((json, ex) -> complete(key, ex == null ? json : null));
+                } catch (RuntimeException ex) {
+                    Logger.getLogger(GameHandle.class.getName()).log(Level.SEVERE, null, ex);
+                    finish(key, null);
+                    failed = true;
+                }
+            }
+        } while (failed);
+    }
+
+    /**
+     * Hydrate every GameHandle waiting on a finished request and send the
+     * next queued requests.
+     *
+     * @param key The request's key
+     * @param json The response (Null if the request failed)
+     */
+    private static void complete(String key, JSONObject json) {
+        finish(key, json);
+        pump();
+    }
+
+    /**
+     * Hydrate every GameHandle waiting on a finished request. A response that
+     * cannot be read is handled like a failed request.
+     *
+     * @param key The request's key
+     * @param json The response (Null if the request failed)
+     */
+    private static void finish(String key, JSONObject json) {
+        Game result = null;
+        boolean retry = true;
+        try {
+            if (json != null && json.optBoolean("success", false)) {
+                result = Game.fromData(json.getJSONObject("data"));
+                retry = false;
+                AutocompleteIndex index = AutocompleteIndex.getDefault();
+                if (index != null) {
+                    index.add(result);
+                }
+            } else if (json != null && SGDBConnectionManager.getStatus(json) == 404) {
+                retry = false;
+            }
+        } catch (RuntimeException ex) {
+            Logger.getLogger(GameHandle.class.getName()).log(Level.SEVERE, null, ex);
+            result = null;
+            retry = true;
+        } finally {
+            List<CompletableFuture<Game>> futures = new ArrayList<>();
+            synchronized (LOCK) {
+                List<GameHandle> waiting = inFlight.remove(key);
+                if (waiting != null) {
+                    for (GameHandle handle : waiting) {
+                        futures.add(handle.game);
+                        if (retry) {
+                            handle.game = null;
+                        }
+                    }
+                }
+            }
+            for (CompletableFuture<Game> future : futures) {
+                future.complete(result);
+            }
+        }
+    }
+
+    /**
+     * Get the key identifying this GameHandle's request.
+     *
+     * @return The key
+     */
+    private String key() {
+        return idType.name() + ":" + id;
+    }
+}
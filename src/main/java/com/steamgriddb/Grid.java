@@ -2,11 +2,25 @@ package com.steamgriddb;
 
 import com.steamgriddb.Enums.SGDBIdTypes;
 import com.steamgriddb.Enums.SGDBStyles;
+import com.steamgriddb.Enums.SGDBUploadChecks;
+import com.steamgriddb.Imaging.ImageHeader;
+import com.steamgriddb.Index.GameIdIndex;
+import com.steamgriddb.Index.UploadLedger;
+import com.steamgriddb.Sync.GridWriteQueue;
+import com.steamgriddb.Connection.SGDBCache;
 import com.steamgriddb.Connection.SGDBConnectionManager;
-import java.io.File;
+import com.steamgriddb.Connection.SGDBEndpoints;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -20,13 +34,17 @@ public class Grid {
     /*
     * Fields
      */
-    private double score = -1;
-    private String id = "";
-    private String style = "";
-    private String url = "";
-    private String thumb = "";
-    private ArrayList<String> tags = new ArrayList<>();
-    private Author author;
+    private static final Interner<String> TAG_POOL = new Interner<>();
+    private static final Interner<List<String>> TAG_LIST_POOL = new Interner<>();
+    private static final Set<String> UPLOAD_FORMATS = Set.of("png", "jpeg", "webp");
+    private static final Set<String> UPLOAD_DIMENSIONS = Set.of("460x215", "920x430", "600x900", "342x482", "660x930", "512x512", "1024x1024");
+    private final double score;
+    private final String id;
+    private final SGDBStyles style;
+    private final String url;
+    private final String thumb;
+    private final List<String> tags;
+    private final Author author;
 
     /**
      * Constructor for Grid.
@@ -39,37 +57,37 @@ public class Grid {
      * @param tags The Grid's Tags
      * @param author The Grid's Author
      */
-    public Grid(String id, double score, SGDBStyles style, String url, String thumb, ArrayList<String> tags, Author author) {
-        switch (style) {
-            case Alternate: {
-                this.style = "alternate";
-                break;
-            }
-            case NoLogo: {
-                this.style = "no_logo";
-                break;
-            }
-            case Blurred: {
-                this.style = "blurred";
-                break;
-            }
-            case Material: {
-                this.style = "material";
-                break;
-            }
-            default:
-                break;
-        }
+    public Grid(String id, double score, SGDBStyles style, String url, String thumb, List<String> tags, Author author) {
+        this.style = style;
         this.id = id;
         this.score = score;
         this.url = url;
         this.thumb = thumb;
-        this.tags = tags;
-        this.author = author;
+        this.tags = internTags(tags);
+        this.author = author != null ? Author.intern(author) : null;
+    }
+
+    /**
+     * Get the canonical, immutable instance of a list of tags. Grids with the
+     * same tags share a single list this way.
+     *
+     * @param tags The tags
+     * @return The canonical immutable list of tags
+     */
+    static List<String> internTags(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        String[] canonical = new String[tags.size()];
+        for (int i = 0; i < canonical.length; i++) {
+            canonical[i] = TAG_POOL.intern(tags.get(i));
+        }
+        return TAG_LIST_POOL.intern(List.of(canonical));
     }
 
     /**
-     * Get Grids by ID and filter by styles.
+     * Get Grids by ID and filter by styles. If a default GameIdIndex knows the
+     * GameId of the given ID, the Grids are requested by GameId.
      *
      * @param id The ID a Game uses
      * @param idType The type of ID (SteamAppID or GameID)
@@ -77,78 +95,59 @@ public class Grid {
      * @return An ArrayList of Grid objects
      */
     public static ArrayList<Grid> getGridsById(String id, SGDBIdTypes idType, SGDBStyles[] styles) {
-        ArrayList<Grid> grids = new ArrayList<>();
-        String apiUrl = "";
-        String stylesStr = buildStylesString(styles);
-
-        switch (idType) {
-            case GameId:
-                apiUrl = "grids/game/";
-                break;
-            case SteamAppId:
-                apiUrl = "grids/steam/";
-                break;
-            case EgsId:
-                apiUrl = "grids/egs/";
-                break;
-            case UplayId:
-                apiUrl = "grids/uplay/";
-                break;
-            case OriginId:
-                apiUrl = "grids/origin/";
-                break;
-            case GogId:
-                apiUrl = "grids/gog/";
-                break;
-            default:
-                break;
+        return getGridsFromJSON(getGridJSONById(id, idType, styles));
+    }
+
+    /**
+     * Get a JSONObject of a Grids array by ID and filter by styles. If a
+     * default GameIdIndex knows the GameId of the given ID, the Grids are
+     * requested by GameId.
+     *
+     * @param id The ID a Game uses
+     * @param idType The type of ID (SteamAppID or GameID)
+     * @param styles An array of styles for filtering the results
+     * @return A JSONObject object with the Grid data
+     */
+    public static JSONObject getGridJSONById(String id, SGDBIdTypes idType, SGDBStyles[] styles) {
+        GameIdIndex index = GameIdIndex.getDefault();
+        String knownGameId = index != null ? index.getGameId(idType, id) : null;
+        return knownGameId != null
+                ? SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.GameId, knownGameId, styles))
+                : SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(idType, id, styles));
+    }
+
+    /**
+     * Get the Grids contained in a JSONObject returned by the API.
+     *
+     * @param json A JSONObject containing the API's response for a Grid list
+     * @return An ArrayList of Grid objects
+     */
+    public static ArrayList<Grid> getGridsFromJSON(JSONObject json) {
+        if (!json.getBoolean("success")) {
+            return new ArrayList<>();
         }
 
-        JSONObject json = SGDBConnectionManager.getJSON(apiUrl + id + "?styles=" + stylesStr);
+        JSONArray jsonArray = json.getJSONArray("data");
+        ArrayList<Grid> grids = new ArrayList<>(jsonArray.length());
+        for (int i = 0; i < jsonArray.length(); i++) {
+            JSONObject jsonGrid = jsonArray.getJSONObject(i);
+            JSONObject jsonAuthor = jsonGrid.getJSONObject("author");
 
-        if (json.getBoolean("success")) {
-            JSONArray jsonArray = json.getJSONArray("data");
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject jsonGrid = jsonArray.getJSONObject(i);
-                JSONObject jsonAuthor = jsonGrid.getJSONObject("author");
+            JSONArray jsonTags = jsonGrid.getJSONArray("tags");
 
-                JSONArray jsonTags = jsonGrid.getJSONArray("tags");
+            String[] tagStrings = new String[jsonTags.length()];
 
-                ArrayList<String> tagStrings = new ArrayList<>();
+            for (int j = 0; j < tagStrings.length; j++) {
+                tagStrings[j] = jsonTags.get(j).toString();
+            }
 
-                for (int j = 0; j < jsonTags.length(); j++) {
-                    tagStrings.add(jsonTags.get(i).toString());
-                }
+            Author authorObject = new Author(jsonAuthor.getString("name"), jsonAuthor.getString("steam64"), jsonAuthor.getString("avatar"));
 
-                Author authorObject = new Author(jsonAuthor.getString("name"), jsonAuthor.getString("steam64"), jsonAuthor.getString("avatar"));
-
-                String styleString = jsonGrid.getString("style");
-                SGDBStyles style = null;
-                switch (styleString) {
-                    case "alternate": {
-                        style = SGDBStyles.Alternate;
-                        break;
-                    }
-                    case "no_logo": {
-                        style = SGDBStyles.NoLogo;
-                        break;
-                    }
-                    case "blurred": {
-                        style = SGDBStyles.Blurred;
-                        break;
-                    }
-                    case "material": {
-                        style = SGDBStyles.Material;
-                        break;
-                    }
-                    default:
-                        break;
-                }
+            SGDBStyles style = SGDBStyles.fromValue(jsonGrid.getString("style"));
 
-                Grid grid = new Grid(String.valueOf(jsonGrid.getInt("id")), jsonGrid.getDouble("score"), style,
-                        jsonGrid.getString("url"), jsonGrid.getString("thumb"), tagStrings, authorObject);
-                grids.add(grid);
-            }
+            Grid grid = new Grid(String.valueOf(jsonGrid.getInt("id")), jsonGrid.getDouble("score"), style,
+                    jsonGrid.getString("url"), jsonGrid.getString("thumb"), Arrays.asList(tagStrings), authorObject);
+            grids.add(grid);
         }
 
         return grids;
@@ -325,8 +324,7 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONBySteamAppId(String steamAppId, SGDBStyles[] styles) {
-        String stylesStr = buildStylesString(styles);
-        JSONObject json = SGDBConnectionManager.getJSON("grids/steam/" + steamAppId + "?styles=" + stylesStr);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.SteamAppId, steamAppId, styles));
         return json;
     }
 
@@ -337,7 +335,7 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONBySteamAppId(String steamAppId) {
-        JSONObject json = SGDBConnectionManager.getJSON("grids/steam/" + steamAppId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.SteamAppId, steamAppId, 0));
         return json;
     }
 
@@ -349,8 +347,7 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONByOriginId(String originId, SGDBStyles[] styles) {
-        String stylesStr = buildStylesString(styles);
-        JSONObject json = SGDBConnectionManager.getJSON("grids/origin/" + originId + "?styles=" + stylesStr);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.OriginId, originId, styles));
         return json;
     }
 
@@ -361,7 +358,7 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONByOriginId(String originId) {
-        JSONObject json = SGDBConnectionManager.getJSON("grids/origin/" + originId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.OriginId, originId, 0));
         return json;
     }
 
@@ -373,8 +370,7 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONByEgsId(String egsId, SGDBStyles[] styles) {
-        String stylesStr = buildStylesString(styles);
-        JSONObject json = SGDBConnectionManager.getJSON("grids/egs/" + egsId + "?styles=" + stylesStr);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.EgsId, egsId, styles));
         return json;
     }
 
@@ -385,7 +381,7 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONByEgsId(String egsId) {
-        JSONObject json = SGDBConnectionManager.getJSON("grids/egs/" + egsId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.EgsId, egsId, 0));
         return json;
     }
 
@@ -397,8 +393,7 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONByUplayId(String uplayId, SGDBStyles[] styles) {
-        String stylesStr = buildStylesString(styles);
-        JSONObject json = SGDBConnectionManager.getJSON("grids/uplay/" + uplayId + "?styles=" + stylesStr);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.UplayId, uplayId, styles));
         return json;
     }
 
@@ -409,7 +404,7 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONByUplayId(String uplayId) {
-        JSONObject json = SGDBConnectionManager.getJSON("grids/uplay/" + uplayId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.UplayId, uplayId, 0));
         return json;
     }
 
@@ -421,8 +416,7 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONByGogId(String gogId, SGDBStyles[] styles) {
-        String stylesStr = buildStylesString(styles);
-        JSONObject json = SGDBConnectionManager.getJSON("grids/gog/" + gogId + "?styles=" + stylesStr);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.GogId, gogId, styles));
         return json;
     }
 
@@ -433,7 +427,7 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONByGogId(String gogId) {
-        JSONObject json = SGDBConnectionManager.getJSON("grids/gog/" + gogId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.GogId, gogId, 0));
         return json;
     }
 
@@ -445,8 +439,7 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONByGameId(String gameId, SGDBStyles[] styles) {
-        String stylesStr = buildStylesString(styles);
-        JSONObject json = SGDBConnectionManager.getJSON("grids/game/" + gameId + "?styles=" + stylesStr);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.GameId, gameId, styles));
         return json;
     }
 
@@ -457,12 +450,15 @@ public class Grid {
      * @return A JSONObject object with the Grid data
      */
     public static JSONObject getGridJSONByGameId(String gameId) {
-        JSONObject json = SGDBConnectionManager.getJSON("grids/game/" + gameId);
+        JSONObject json = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.GameId, gameId, 0));
         return json;
     }
 
     /**
-     * Upload a Grid by entering its required data.
+     * Upload a Grid by entering its required data. The image is checked with
+     * {@link #checkUpload(String, SGDBStyles, String)} first, and is not sent
+     * if the check fails. Successful uploads are added to the default
+     * UploadLedger, if one is set.
      *
      * @param gameId The GameID of a Game
      * @param style The style of the Grid
@@ -470,39 +466,89 @@ public class Grid {
      * @return True if the upload was successful, false if otherwise
      */
     public static boolean uploadGrid(String gameId, SGDBStyles style, String filePath) {
-        File grid = new File(filePath);
-
-        String styleStr = "";
-
-        switch (style) {
-            case Alternate: {
-                styleStr = "alternate";
-                break;
-            }
-            case NoLogo: {
-                styleStr = "no_logo";
-                break;
-            }
-            case Blurred: {
-                styleStr = "blurred";
-                break;
-            }
-            case Material: {
-                styleStr = "material";
-                break;
+        Path grid = Paths.get(filePath);
+        UploadLedger ledger = UploadLedger.getDefault();
+        String hash = null;
+
+        SGDBUploadChecks check = checkImage(grid);
+        if (check == SGDBUploadChecks.Valid && ledger != null) {
+            try {
+                hash = UploadLedger.hash(grid);
+                if (ledger.contains(gameId, style, hash)) {
+                    check = SGDBUploadChecks.Duplicate;
+                }
+            } catch (IOException ex) {
+                check = SGDBUploadChecks.Unreadable;
             }
-            default:
-                break;
+        }
+        if (check != SGDBUploadChecks.Valid) {
+            Logger.getLogger(Grid.class.getName()).log(Level.WARNING, "Upload of {0} skipped: {1}", new Object[]{filePath, check});
+            return false;
         }
 
         Map<Object, Object> params = new LinkedHashMap<>();
         params.put("game_id", gameId);
-        params.put("style", styleStr);
-        params.put("grid", grid.toPath());
+        params.put("style", style.getValue());
+        params.put("grid", grid);
 
         JSONObject json = SGDBConnectionManager.postMultipart("grids", params);
 
-        return json.getBoolean("success");
+        boolean success = json.getBoolean("success");
+        if (success) {
+            SGDBCache.invalidate(SGDBEndpoints.gridsPath(SGDBIdTypes.GameId, gameId, 0));
+            if (ledger != null) {
+                ledger.add(gameId, style, hash);
+            }
+        }
+        return success;
+    }
+
+    /**
+     * Check an image before uploading it as a Grid, without sending anything.
+     * Only the image's header is read to check its format and dimensions.
+     * If a default UploadLedger is set, the image is also hashed to check
+     * whether it was already uploaded for this game and style.
+     *
+     * @param gameId The GameID of a Game
+     * @param style The style of the Grid
+     * @param filePath The file path of an image
+     * @return The result of the check (SGDBUploadChecks.Valid if it can be uploaded)
+     */
+    public static SGDBUploadChecks checkUpload(String gameId, SGDBStyles style, String filePath) {
+        Path grid = Paths.get(filePath);
+        SGDBUploadChecks check = checkImage(grid);
+        UploadLedger ledger = UploadLedger.getDefault();
+        if (check != SGDBUploadChecks.Valid || ledger == null) {
+            return check;
+        }
+        try {
+            return ledger.contains(gameId, style, UploadLedger.hash(grid)) ? SGDBUploadChecks.Duplicate : check;
+        } catch (IOException ex) {
+            return SGDBUploadChecks.Unreadable;
+        }
+    }
+
+    /**
+     * Check an image's format and dimensions against the ones SGDB accepts
+     * for Grids.
+     *
+     * @param grid The image file
+     * @return The result of the check
+     */
+    private static SGDBUploadChecks checkImage(Path grid) {
+        ImageHeader header;
+        try {
+            header = ImageHeader.read(grid);
+        } catch (IOException ex) {
+            return SGDBUploadChecks.Unreadable;
+        }
+        if (header == null || !UPLOAD_FORMATS.contains(header.getFormat())) {
+            return SGDBUploadChecks.UnsupportedFormat;
+        }
+        if (!UPLOAD_DIMENSIONS.contains(header.getWidth() + "x" + header.getHeight())) {
+            return SGDBUploadChecks.WrongDimensions;
+        }
+        return SGDBUploadChecks.Valid;
     }
 
     /**
@@ -536,48 +582,66 @@ public class Grid {
      * Upvote this Grid.
      */
     public void upvote() {
-        SGDBConnectionManager.post("grids/vote/up/" + getId());
+        upvoteById(getId());
     }
 
     /**
      * Downvote this Grid.
      */
     public void downvote() {
-        SGDBConnectionManager.post("grids/vote/down/" + getId());
+        downvoteById(getId());
     }
 
     /**
-     * Upvote a Grid using its ID.
+     * Upvote a Grid using its ID. If a default GridWriteQueue is set, the
+     * vote is queued instead.
      *
      * @param gridId The Grid's ID
      */
     public static void upvoteById(String gridId) {
-        SGDBConnectionManager.post("grids/vote/up/" + gridId);
+        GridWriteQueue queue = GridWriteQueue.getDefault();
+        if (queue != null) {
+            queue.upvote(gridId);
+            return;
+        }
+        SGDBConnectionManager.post(SGDBEndpoints.votePath(true, gridId));
     }
 
     /**
-     * Downvote a Grid using its ID.
+     * Downvote a Grid using its ID. If a default GridWriteQueue is set, the
+     * vote is queued instead.
      *
      * @param gridId The Grid's ID
      */
     public static void downvoteById(String gridId) {
-        SGDBConnectionManager.post("grids/vote/down/" + gridId);
+        GridWriteQueue queue = GridWriteQueue.getDefault();
+        if (queue != null) {
+            queue.downvote(gridId);
+            return;
+        }
+        SGDBConnectionManager.post(SGDBEndpoints.votePath(false, gridId));
     }
 
     /**
      * Delete this Grid.
      */
     public void delete() {
-        SGDBConnectionManager.delete("grids/" + getId());
+        deleteByGridID(getId());
     }
 
     /**
-     * Delete a Grid using its ID.
+     * Delete a Grid using its ID. If a default GridWriteQueue is set, the
+     * delete is queued instead.
      *
      * @param gridId The Grid's ID
      */
     public static void deleteByGridID(String gridId) {
-        SGDBConnectionManager.delete("grids/" + gridId);
+        GridWriteQueue queue = GridWriteQueue.getDefault();
+        if (queue != null) {
+            queue.delete(gridId);
+            return;
+        }
+        SGDBConnectionManager.delete(SGDBEndpoints.gridPath(gridId));
     }
 
     /**
@@ -612,9 +676,18 @@ public class Grid {
     /**
      * Get the Grid's Style.
      *
-     * @return The Grid's Style
+     * @return The Grid's Style, as used by the API
      */
     public String getStyle() {
+        return style != null ? style.getValue() : "";
+    }
+
+    /**
+     * Get the Grid's Style as an SGDBStyles.
+     *
+     * @return The Grid's Style (Or null if the API returned an unknown style)
+     */
+    public SGDBStyles getSGDBStyle() {
         return style;
     }
 
@@ -639,9 +712,9 @@ public class Grid {
     /**
      * Get the Grid's Tags.
      *
-     * @return The Grid's Tags
+     * @return The Grid's Tags, as an immutable list
      */
-    public ArrayList<String> getTags() {
+    public List<String> getTags() {
         return tags;
     }
 
@@ -654,43 +727,29 @@ public class Grid {
         return author;
     }
 
+    /**
+     * Get the Grid as a JSONObject, shaped like the API's grid data.
+     *
+     * @return A JSONObject with the Grid's data
+     */
+    public JSONObject toJSON() {
+        return new JSONObject()
+                .put("id", JSONObject.stringToValue(id))
+                .put("score", score)
+                .put("style", getStyle())
+                .put("url", url)
+                .put("thumb", thumb)
+                .put("tags", new JSONArray(tags))
+                .put("author", author != null ? author.toJSON() : JSONObject.NULL);
+    }
+
     /**
      * Build a string from and SGDBStyles array.
      * 
      * @param styles The SGDBStyles array to be converted
      * @return String containing the given SGDBStyles
      */
-    private static String buildStylesString(SGDBStyles[] styles) {
-        String stylesStr = "";
-
-        for (int i = 0; i < styles.length; i++) {
-            String currentStyle = "";
-            switch (styles[i]) {
-                case Alternate: {
-                    currentStyle = "alternate";
-                    break;
-                }
-                case NoLogo: {
-                    currentStyle = "no_logo";
-                    break;
-                }
-                case Blurred: {
-                    currentStyle = "blurred";
-                    break;
-                }
-                case Material: {
-                    currentStyle = "material";
-                    break;
-                }
-                default:
-                    break;
-            }
-            stylesStr += currentStyle;
-            if (i != styles.length - 1) {
-                stylesStr += ",";
-            }
-        }
-
-        return stylesStr;
+    static String buildStylesString(SGDBStyles[] styles) {
+        return SGDBEndpoints.stylesList(SGDBEndpoints.styleMask(styles));
     }
 }
@@ -0,0 +1,167 @@
+package com.steamgriddb;
+
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Connection.SGDBDeadline;
+import com.steamgriddb.Connection.SGDBScheduler;
+import com.steamgriddb.Enums.SGDBIdTypes;
+import com.steamgriddb.Enums.SGDBStyles;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.json.JSONObject;
+
+/**
+ * Selects the best Grid of many Games at once.
+ * <p>
+ * Games are handled concurrently. For every Game the preferred styles are
+ * requested one at a time, in order, and the highest scoring Grid of the
+ * first style that has one scoring at least the minimum score is selected.
+ * Later styles are not requested once a Grid is selected. If no preferred
+ * style has a satisfying Grid, the best Grid found so far is selected, and
+ * only if none was found at all are all styles requested.
+ * <p>
+ * A Game whose request fails (E.g. a timeout, throttling or a server error)
+ * is reported as failed rather than as having no Grids, since its Grids are
+ * unknown.
+ * <p>
+ * The deadline and priority of the calling thread apply to every request
+ * made for the selection.
+ *
+ * @author mpaterakis
+ */
+public class GridSelector {
+
+    /**
+     * Get the best Grid of every Game.
+     *
+     * @param ids The IDs of the Games
+     * @param idType The type of the IDs
+     * @param preferredStyles The styles to try, most preferred first (Empty for any style)
+     * @param minScore The score a Grid needs to end the search for its Game
+     * @param parallelism The maximum amount of concurrent requests
+     * @return The best Grid by Game ID, in the order of the given IDs (Games without Grids are left out,
+     * Games whose requests failed are mapped to null)
+     */
+    public static Map<String, Grid> getBestGrids(Collection<String> ids, SGDBIdTypes idType,
+            SGDBStyles[] preferredStyles, double minScore, int parallelism) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, ids.size())));
+        List<String> order = new ArrayList<>(ids);
+        List<Future<Grid>> futures = new ArrayList<>(order.size());
+        for (String id : order) {
+            futures.add(executor.submit(SGDBDeadline.propagate(SGDBScheduler.propagate(() -> getBestGrid(id, idType, preferredStyles, minScore)))));
+        }
+
+        Map<String, Grid> best = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < order.size(); i++) {
+                try {
+                    Grid grid = futures.get(i).get();
+                    if (grid != null) {
+                        best.put(order.get(i), grid);
+                    }
+                } catch (ExecutionException ex) {
+                    Logger.getLogger(GridSelector.class.getName()).log(Level.SEVERE, null, ex);
+                    best.put(order.get(i), null);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return best;
+    }
+
+    /**
+     * Get the best Grid of every Game, with any score accepted.
+     *
+     * @param ids The IDs of the Games
+     * @param idType The type of the IDs
+     * @param preferredStyles The styles to try, most preferred first (Empty for any style)
+     * @return The best Grid by Game ID, in the order of the given IDs (Games without Grids are left out,
+     * Games whose requests failed are mapped to null)
+     */
+    public static Map<String, Grid> getBestGrids(Collection<String> ids, SGDBIdTypes idType, SGDBStyles[] preferredStyles) {
+        return getBestGrids(ids, idType, preferredStyles, Double.NEGATIVE_INFINITY, 8);
+    }
+
+    /**
+     * Get the best Grid of a single Game.
+     *
+     * @param id The ID of the Game
+     * @param idType The type of the ID
+     * @param preferredStyles The styles to try, most preferred first (Empty for any style)
+     * @param minScore The score a Grid needs to end the search
+     * @return The best Grid, or null if the Game has none
+     * @throws UncheckedIOException If a request fails with a status other than 200 or 404
+     */
+    public static Grid getBestGrid(String id, SGDBIdTypes idType, SGDBStyles[] preferredStyles, double minScore) {
+        Grid best = null;
+        for (SGDBStyles style : preferredStyles) {
+            Grid candidate = highestScore(getGrids(id, idType, new SGDBStyles[]{style}));
+            if (candidate != null && candidate.getScore() >= minScore) {
+                return candidate;
+            }
+            if (best == null || (candidate != null && candidate.getScore() > best.getScore())) {
+                best = candidate;
+            }
+        }
+
+        if (best == null) {
+            best = highestScore(getGrids(id, idType, new SGDBStyles[0]));
+        }
+        return best;
+    }
+
+    /**
+     * Get the Grids of a Game, telling a failed request apart from a Game
+     * without Grids.
+     *
+     * @param id The ID of the Game
+     * @param idType The type of the ID
+     * @param styles The styles to request
+     * @return The Grids, empty if the Game has none or is unknown (404)
+     * @throws UncheckedIOException If the request fails with any other status
+     */
+    private static List<Grid> getGrids(String id, SGDBIdTypes idType, SGDBStyles[] styles) {
+        JSONObject json = Grid.getGridJSONById(id, idType, styles);
+        int status = SGDBConnectionManager.getStatus(json);
+        if (status != 200 && status != 404) {
+            throw new UncheckedIOException(new IOException("Grid request for " + id + " failed with status code " + status));
+        }
+        return Grid.getGridsFromJSON(json);
+    }
+
+    /**
+     * Get the highest scoring Grid of a list.
+     *
+     * @param grids The Grids
+     * @return The highest scoring Grid, or null if the list is empty
+     */
+    private static Grid highestScore(List<Grid> grids) {
+        Grid best = null;
+        for (Grid grid : grids) {
+            if (best == null || grid.getScore() > best.getScore()) {
+                best = grid;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Make constructor private to give class a static nature
+     */
+    private GridSelector() {
+    }
+}
@@ -0,0 +1,351 @@
+package com.steamgriddb.Imaging;
+
+import com.steamgriddb.Grid;
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Downloads the images of Grids and converts them to the sizes and formats
+ * needed locally.
+ * <p>
+ * Downloads run asynchronously, and decoding, scaling and encoding run on a
+ * ForkJoinPool using every core. Images are only decoded once the memory
+ * they need, estimated from their header, fits in the pipeline's memory
+ * budget, so large batches do not exhaust the heap. Converted variants are
+ * stored in a cache directory named by the SHA-256 of the source image, so
+ * Grids sharing an image, and images already converted by earlier runs, are
+ * not converted again.
+ *
+ * @author mpaterakis
+ */
+public class GridImagePipeline implements AutoCloseable {
+
+    /*
+    * Fields
+     */
+    private final Path cacheDirectory;
+    private final List<ImageVariant> variants;
+    private final ForkJoinPool pool;
+    private final Semaphore memory;
+    private final int memoryKiB;
+    private final int maxDownloads;
+    private final Map<String, String> sourceHashes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for GridImagePipeline.
+     *
+     * @param cacheDirectory The directory converted variants are stored in
+     * @param variants The variants every image is converted to
+     * @param maxMemoryBytes The memory available for decoded images
+     * @throws IOException If the cache directory cannot be created
+     */
+    public GridImagePipeline(Path cacheDirectory, List<ImageVariant> variants, long maxMemoryBytes) throws IOException {
+        this(cacheDirectory, variants, maxMemoryBytes, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for GridImagePipeline.
+     *
+     * @param cacheDirectory The directory converted variants are stored in
+     * @param variants The variants every image is converted to
+     * @param maxMemoryBytes The memory available for decoded images
+     * @param parallelism The amount of images converted at once
+     * @throws IOException If the cache directory cannot be created
+     */
+    public GridImagePipeline(Path cacheDirectory, List<ImageVariant> variants, long maxMemoryBytes, int parallelism) throws IOException {
+        this.cacheDirectory = Files.createDirectories(cacheDirectory);
+        this.variants = List.copyOf(variants);
+        this.pool = new ForkJoinPool(parallelism);
+        this.memoryKiB = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maxMemoryBytes / 1024));
+        this.memory = new Semaphore(memoryKiB, true);
+        this.maxDownloads = parallelism * 2;
+    }
+
+    /**
+     * Download a Grid's image and convert it to every variant.
+     *
+     * @param grid The Grid
+     * @return A future of the variants' files, failing if the image cannot be downloaded or converted
+     */
+    public CompletableFuture<Map<ImageVariant, Path>> process(Grid grid) {
+        String url = grid.getUrl();
+        String knownHash = sourceHashes.get(url);
+        if (knownHash != null) {
+            Map<ImageVariant, Path> cached = cachedVariants(knownHash);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+
+        return SGDBConnectionManager.download(url).thenApplyAsync(source -> {
+            String hash = hash(source);
+            Map<ImageVariant, Path> converted = convert(hash, source);
+            sourceHashes.put(url, hash);
+            return converted;
+        }, pool);
+    }
+
+    /**
+     * Download the images of many Grids and convert them to every variant,
+     * with a bounded amount of downloads in flight.
+     *
+     * @param grids The Grids
+     * @return The variants' files by Grid ID (Grids whose image failed are left out)
+     */
+    public Map<String, Map<ImageVariant, Path>> processAll(Collection<Grid> grids) {
+        Map<String, Map<ImageVariant, Path>> results = new ConcurrentHashMap<>();
+        Semaphore downloads = new Semaphore(maxDownloads);
+        List<CompletableFuture<?>> futures = new ArrayList<>(grids.size());
+
+        try {
+            for (Grid grid : grids) {
+                downloads.acquire();
+                futures.add(process(grid).handle((files, ex) -> {
+                    downloads.release();
+                    if (ex != null) {
+                        Logger.getLogger(GridImagePipeline.class.getName()).log(Level.SEVERE, grid.getUrl(), ex);
+                    } else {
+                        results.put(grid.getId(), files);
+                    }
+                    return null;
+                }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        return results;
+    }
+
+    /**
+     * Convert an image to every variant on the calling thread, unless the
+     * variants are cached. Used for images that are not downloaded.
+     *
+     * @param source The image's contents
+     * @return The variants' files
+     */
+    public Map<ImageVariant, Path> convert(byte[] source) {
+        return convert(hash(source), source);
+    }
+
+    /**
+     * Convert an image to every variant, unless the variants are cached.
+     *
+     * @param hash The image's hash
+     * @param source The image's contents
+     * @return The variants' files
+     */
+    private Map<ImageVariant, Path> convert(String hash, byte[] source) {
+        Map<ImageVariant, Path> cached = cachedVariants(hash);
+        if (cached != null) {
+            return cached;
+        }
+
+        int permits = memoryPermits(source);
+        memory.acquireUninterruptibly(permits);
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(source));
+            if (image == null) {
+                throw new UncheckedIOException(new IOException("Unsupported image format"));
+            }
+            Map<ImageVariant, Path> files = new LinkedHashMap<>();
+            for (ImageVariant variant : variants) {
+                Path file = variantFile(hash, variant);
+                write(scale(image, variant), variant, file);
+                files.put(variant, file);
+            }
+            return files;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            memory.release(permits);
+        }
+    }
+
+    /**
+     * Stop the pipeline's threads once pending conversions are done.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Get the cached variants of an image.
+     *
+     * @param hash The image's hash
+     * @return The variants' files, or null if any of them is missing
+     */
+    private Map<ImageVariant, Path> cachedVariants(String hash) {
+        Map<ImageVariant, Path> files = new LinkedHashMap<>();
+        for (ImageVariant variant : variants) {
+            Path file = variantFile(hash, variant);
+            if (!Files.exists(file)) {
+                return null;
+            }
+            files.put(variant, file);
+        }
+        return files;
+    }
+
+    /**
+     * Estimate the memory needed to convert an image from its dimensions,
+     * read from its header without decoding it.
+     *
+     * @param source The image's contents
+     * @return The memory in KiB, at most the whole budget
+     */
+    private int memoryPermits(byte[] source) {
+        long pixels = 0;
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(source))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (readers.hasNext()) {
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(input);
+                    pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (IOException ex) {
+            // Unknown dimensions, the decoder reports the actual problem
+        }
+
+        long largestVariant = 0;
+        for (ImageVariant variant : variants) {
+            largestVariant = Math.max(largestVariant, (long) variant.getWidth() * variant.getHeight());
+        }
+        long bytes = (pixels + 2 * largestVariant) * 4 + source.length;
+        return (int) Math.max(1, Math.min(memoryKiB, bytes / 1024));
+    }
+
+    /**
+     * Scale an image to cover a variant's size and crop it to the center.
+     * Large reductions are done in halving steps to keep the quality of a
+     * bicubic filter.
+     *
+     * @param image The image
+     * @param variant The variant
+     * @return The scaled image
+     */
+    private static BufferedImage scale(BufferedImage image, ImageVariant variant) {
+        boolean opaque = !variant.getFormat().equals("png");
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        double ratio = Math.max((double) variant.getWidth() / image.getWidth(), (double) variant.getHeight() / image.getHeight());
+        int targetWidth = (int) Math.ceil(image.getWidth() * ratio);
+        int targetHeight = (int) Math.ceil(image.getHeight() * ratio);
+
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2, 0, 0, current.getWidth() / 2, current.getHeight() / 2, type);
+        }
+
+        int x = (variant.getWidth() - targetWidth) / 2;
+        int y = (variant.getHeight() - targetHeight) / 2;
+        return draw(current, variant.getWidth(), variant.getHeight(), x, y, targetWidth, targetHeight, type);
+    }
+
+    /**
+     * Draw an image scaled onto a new image.
+     *
+     * @param image The image
+     * @param width The new image's width
+     * @param height The new image's height
+     * @param x The horizontal position of the image
+     * @param y The vertical position of the image
+     * @param drawWidth The width the image is scaled to
+     * @param drawHeight The height the image is scaled to
+     * @param type The new image's type
+     * @return The new image
+     */
+    private static BufferedImage draw(BufferedImage image, int width, int height, int x, int y, int drawWidth, int drawHeight, int type) {
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, x, y, drawWidth, drawHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Encode an image to a file, replacing it atomically.
+     *
+     * @param image The image
+     * @param variant The variant the image is for
+     * @param file The file
+     * @throws IOException If the file cannot be written or the format is not supported
+     */
+    private static void write(BufferedImage image, ImageVariant variant, Path file) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            if (!ImageIO.write(image, variant.getFormat(), temp.toFile())) {
+                throw new IOException("Unsupported image format: " + variant.getFormat());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Get the file of an image's variant.
+     *
+     * @param hash The image's hash
+     * @param variant The variant
+     * @return The variant's file
+     */
+    private Path variantFile(String hash, ImageVariant variant) {
+        return cacheDirectory.resolve(hash + "-" + variant);
+    }
+
+    /**
+     * Hash an image's contents.
+     *
+     * @param source The image's contents
+     * @return The SHA-256 of the contents, in hex
+     */
+    private static String hash(byte[] source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.steamgriddb.Imaging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The format and dimensions of a PNG, JPEG or WEBP image, read from its
+ * header without decoding the image.
+ *
+ * @author mpaterakis
+ */
+public class ImageHeader {
+
+    /*
+    * Fields
+     */
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final String format;
+    private final int width;
+    private final int height;
+
+    /**
+     * Constructor for ImageHeader.
+     *
+     * @param format The format name ("png", "jpeg" or "webp")
+     * @param width The width in pixels
+     * @param height The height in pixels
+     */
+    private ImageHeader(String format, int width, int height) {
+        this.format = format;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Read the header of an image file. Only the bytes up to the dimensions
+     * are read; for JPEG images the segments before them are skipped.
+     *
+     * @param file The image file
+     * @return The header, or null if the file is not a PNG, JPEG or WEBP image
+     * @throws IOException If the file cannot be read
+     */
+    public static ImageHeader read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer start = read(channel, 0, 30);
+            if (start == null) {
+                return null;
+            }
+            if (startsWith(start, PNG_SIGNATURE)) {
+                return readPng(start);
+            }
+            if ((start.get(0) & 0xFF) == 0xFF && (start.get(1) & 0xFF) == 0xD8) {
+                return readJpeg(channel);
+            }
+            if (startsWith(start, "RIFF".getBytes(StandardCharsets.US_ASCII)) && start.getInt(8) == fourCC("WEBP")) {
+                return readWebp(start);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Get the format.
+     *
+     * @return The format name ("png", "jpeg" or "webp")
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * Get the width.
+     *
+     * @return The width in pixels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the height.
+     *
+     * @return The height in pixels
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public String toString() {
+        return width + "x" + height + "." + format;
+    }
+
+    /**
+     * Read a PNG header. The IHDR chunk always comes first.
+     *
+     * @param start The first bytes of the file
+     * @return The header, or null if the IHDR chunk is missing
+     */
+    private static ImageHeader readPng(ByteBuffer start) {
+        if (start.getInt(12) != fourCC("IHDR")) {
+            return null;
+        }
+        return new ImageHeader("png", start.getInt(16), start.getInt(20));
+    }
+
+    /**
+     * Read a JPEG header by walking the segments up to the first SOF marker.
+     *
+     * @param channel The file
+     * @return The header, or null if there is no SOF marker
+     * @throws IOException If the file cannot be read
+     */
+    private static ImageHeader readJpeg(FileChannel channel) throws IOException {
+        long position = 2;
+        while (true) {
+            ByteBuffer marker = read(channel, position, 2);
+            if (marker == null || (marker.get(0) & 0xFF) != 0xFF) {
+                return null;
+            }
+            int type = marker.get(1) & 0xFF;
+            if (type == 0xFF) {
+                // Fill byte
+                position++;
+                continue;
+            }
+            if (type == 0x01 || (type >= 0xD0 && type <= 0xD7)) {
+                // Markers without a segment
+                position += 2;
+                continue;
+            }
+            if (type == 0xD9 || type == 0xDA) {
+                // End of image or start of scan, no frame header found
+                return null;
+            }
+
+            ByteBuffer segment = read(channel, position + 2, 7);
+            if (segment == null) {
+                return null;
+            }
+            if (type >= 0xC0 && type <= 0xCF && type != 0xC4 && type != 0xC8 && type != 0xCC) {
+                return new ImageHeader("jpeg", segment.getShort(5) & 0xFFFF, segment.getShort(3) & 0xFFFF);
+            }
+            position += 2 + (segment.getShort(0) & 0xFFFF);
+        }
+    }
+
+    /**
+     * Read a WEBP header from its first chunk (VP8, VP8L or VP8X).
+     *
+     * @param start The first bytes of the file
+     * @return The header, or null if the chunk is not recognized
+     */
+    private static ImageHeader readWebp(ByteBuffer start) {
+        int chunk = start.getInt(12);
+        ByteBuffer little = start.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (chunk == fourCC("VP8X")) {
+            int width = (little.getInt(24) & 0xFFFFFF) + 1;
+            int height = (little.getInt(26) >>> 8) + 1;
+            return new ImageHeader("webp", width, height);
+        }
+        if (chunk == fourCC("VP8L") && (start.get(20) & 0xFF) == 0x2F) {
+            int bits = little.getInt(21);
+            return new ImageHeader("webp", (bits & 0x3FFF) + 1, ((bits >>> 14) & 0x3FFF) + 1);
+        }
+        if (chunk == fourCC("VP8 ") && (start.get(23) & 0xFF) == 0x9D
+                && (start.get(24) & 0xFF) == 0x01 && (start.get(25) & 0xFF) == 0x2A) {
+            return new ImageHeader("webp", little.getShort(26) & 0x3FFF, little.getShort(28) & 0x3FFF);
+        }
+        return null;
+    }
+
+    /**
+     * Read bytes at a position of a file.
+     *
+     * @param channel The file
+     * @param position The position to read at
+     * @param length The amount of bytes
+     * @return The bytes, or null if the file ends before them
+     * @throws IOException If the file cannot be read
+     */
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Check whether a buffer starts with some bytes.
+     *
+     * @param buffer The buffer
+     * @param prefix The bytes
+     * @return True if the buffer starts with them, false if otherwise
+     */
+    private static boolean startsWith(ByteBuffer buffer, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get a chunk type as a big endian int.
+     *
+     * @param type The four character type
+     * @return The type's int value
+     */
+    private static int fourCC(String type) {
+        return (type.charAt(0) << 24) | (type.charAt(1) << 16) | (type.charAt(2) << 8) | type.charAt(3);
+    }
+}
@@ -0,0 +1,82 @@
+package com.steamgriddb.Imaging;
+
+/**
+ * A size and format an image is converted to. Images are scaled to cover
+ * the size and centered, so the variant always has exactly this size.
+ *
+ * @author mpaterakis
+ */
+public class ImageVariant {
+
+    /*
+    * Fields
+     */
+    private final int width;
+    private final int height;
+    private final String format;
+
+    /**
+     * Constructor for ImageVariant.
+     *
+     * @param width The width in pixels
+     * @param height The height in pixels
+     * @param format The format name, as known to ImageIO (E.g. "png" or "jpg")
+     */
+    public ImageVariant(int width, int height, String format) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Width and height must be at least 1");
+        }
+        this.width = width;
+        this.height = height;
+        this.format = format.toLowerCase();
+    }
+
+    /**
+     * Get the width.
+     *
+     * @return The width in pixels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the height.
+     *
+     * @return The height in pixels
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the format.
+     *
+     * @return The format name
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ImageVariant)) {
+            return false;
+        }
+        ImageVariant variant = (ImageVariant) other;
+        return width == variant.width && height == variant.height && format.equals(variant.format);
+    }
+
+    @Override
+    public int hashCode() {
+        return (width * 31 + height) * 31 + format.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return width + "x" + height + "." + format;
+    }
+}
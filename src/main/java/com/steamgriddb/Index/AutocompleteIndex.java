@@ -0,0 +1,379 @@
+package com.steamgriddb.Index;
+
+import com.steamgriddb.Game;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A local prefix and typo tolerant index of Game names, filled from previous
+ * autocomplete results and resolved Games.
+ * <p>
+ * Names are split into normalized words. Every query word must match a word
+ * of a name, either as a prefix or, for words of three or more characters,
+ * within a small edit distance of one of its prefixes. Typo candidates are
+ * found through a trigram index over the known words.
+ * <p>
+ * When a default index is set, {@link com.steamgriddb.Search#searchGamesByName(String)}
+ * answers from it whenever its confidence is high enough, and adds network
+ * results to it otherwise.
+ *
+ * @author mpaterakis
+ */
+public class AutocompleteIndex {
+
+    /*
+    * Fields
+     */
+    private static volatile AutocompleteIndex defaultIndex = null;
+    private static final double PREFIX_MATCH = 1.0;
+    private static final double TYPO_MATCH = 0.6;
+
+    private final Map<String, Entry> games = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<String>> words = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+    private volatile int expectedResults = 5;
+    private volatile double minConfidence = 0.8;
+
+    /**
+     * Get the index used by Search.
+     *
+     * @return The default index, or null if none is set
+     */
+    public static AutocompleteIndex getDefault() {
+        return defaultIndex;
+    }
+
+    /**
+     * Set the index used by Search.
+     *
+     * @param index The index, or null to stop using one
+     */
+    public static void setDefault(AutocompleteIndex index) {
+        defaultIndex = index;
+    }
+
+    /**
+     * Add a Game to the index.
+     *
+     * @param game The Game
+     */
+    public void add(Game game) {
+        if (game.getId().isEmpty() || game.getName().isEmpty()) {
+            return;
+        }
+        List<String> nameWords = words(game.getName());
+        games.put(game.getId(), new Entry(game, String.join(" ", nameWords)));
+        for (String word : nameWords) {
+            words.computeIfAbsent(word, k -> ConcurrentHashMap.newKeySet()).add(game.getId());
+            for (String trigram : trigrams(word)) {
+                trigrams.computeIfAbsent(trigram, k -> ConcurrentHashMap.newKeySet()).add(word);
+            }
+        }
+    }
+
+    /**
+     * Add Games to the index.
+     *
+     * @param games The Games
+     */
+    public void addAll(Collection<Game> games) {
+        for (Game game : games) {
+            add(game);
+        }
+    }
+
+    /**
+     * Get the amount of Games in the index.
+     *
+     * @return The amount of Games
+     */
+    public int size() {
+        return games.size();
+    }
+
+    /**
+     * Set the amount of results a query needs to be fully confident.
+     *
+     * @param expectedResults The amount of results
+     */
+    public void setExpectedResults(int expectedResults) {
+        this.expectedResults = Math.max(1, expectedResults);
+    }
+
+    /**
+     * Set the confidence below which Search falls back to the network.
+     *
+     * @param minConfidence A value between 0 and 1
+     */
+    public void setMinConfidence(double minConfidence) {
+        this.minConfidence = minConfidence;
+    }
+
+    /**
+     * Get the confidence below which Search falls back to the network.
+     *
+     * @return A value between 0 and 1
+     */
+    public double getMinConfidence() {
+        return minConfidence;
+    }
+
+    /**
+     * Search the index.
+     *
+     * @param searchTerm The search term
+     * @param limit The maximum amount of Games
+     * @return The best matching Games and the confidence in them
+     */
+    public Result search(String searchTerm, int limit) {
+        List<String> queryWords = words(searchTerm);
+        if (queryWords.isEmpty()) {
+            return new Result(new ArrayList<>(), 0);
+        }
+
+        double quality = PREFIX_MATCH;
+        List<Map<String, Double>> wordMatches = new ArrayList<>(queryWords.size());
+        for (String queryWord : queryWords) {
+            Map<String, Double> matches = prefixMatches(queryWord);
+            if (matches.isEmpty()) {
+                matches = typoMatches(queryWord);
+                quality = TYPO_MATCH;
+            }
+            if (matches.isEmpty()) {
+                return new Result(new ArrayList<>(), 0);
+            }
+            wordMatches.add(matches);
+        }
+
+        // Intersect starting from the most selective word
+        wordMatches.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        Map<String, Double> scores = new HashMap<>(wordMatches.get(0));
+        for (int i = 1; i < wordMatches.size() && !scores.isEmpty(); i++) {
+            Map<String, Double> matches = wordMatches.get(i);
+            scores.entrySet().removeIf(entry -> !matches.containsKey(entry.getKey()));
+            scores.replaceAll((gameId, score) -> score + matches.getOrDefault(gameId, 0.0));
+        }
+        if (scores.isEmpty()) {
+            return new Result(new ArrayList<>(), 0);
+        }
+
+        // Favor names starting with the term, and shorter names among those
+        String normalizedTerm = String.join(" ", queryWords);
+        PriorityQueue<Map.Entry<String, Double>> best = new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            String name = games.get(entry.getKey()).normalizedName;
+            if (name.startsWith(normalizedTerm)) {
+                entry.setValue(entry.getValue() + 1 + 1.0 / (1 + name.length() - normalizedTerm.length()));
+            }
+            best.add(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        Game[] ranked = new Game[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = games.get(best.poll().getKey()).game;
+        }
+        List<Game> result = Arrays.asList(ranked);
+        double coverage = Math.min(1.0, (double) scores.size() / Math.min(limit, expectedResults));
+        return new Result(result, quality * coverage);
+    }
+
+    /**
+     * Find the Games having a word starting with a query word.
+     *
+     * @param queryWord The query word
+     * @return The matching GameIds and their scores
+     */
+    private Map<String, Double> prefixMatches(String queryWord) {
+        Map<String, Double> matches = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : words.subMap(queryWord, true, queryWord + Character.MAX_VALUE, false).entrySet()) {
+            double score = entry.getKey().length() == queryWord.length() ? PREFIX_MATCH : PREFIX_MATCH * 0.9;
+            for (String gameId : entry.getValue()) {
+                matches.merge(gameId, score, Math::max);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Find the Games having a word whose prefix is within a small edit
+     * distance of a query word.
+     *
+     * @param queryWord The query word
+     * @return The matching GameIds and their scores
+     */
+    private Map<String, Double> typoMatches(String queryWord) {
+        Map<String, Double> matches = new HashMap<>();
+        if (queryWord.length() < 3) {
+            return matches;
+        }
+        int maxEdits = queryWord.length() <= 5 ? 1 : 2;
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : trigrams(queryWord)) {
+            Set<String> candidates = trigrams.get(trigram);
+            if (candidates != null) {
+                for (String candidate : candidates) {
+                    shared.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+
+        for (String candidate : shared.keySet()) {
+            int edits = prefixDistance(queryWord, candidate, maxEdits);
+            if (edits <= maxEdits) {
+                double score = TYPO_MATCH * (1.0 - (double) edits / (maxEdits + 1));
+                for (String gameId : words.getOrDefault(candidate, Set.of())) {
+                    matches.merge(gameId, score, Math::max);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Get the smallest edit distance (with transpositions) between a query word and any prefix of
+     * a word, giving up once it exceeds a maximum.
+     *
+     * @param query The query word
+     * @param word The word
+     * @param maxEdits The maximum edit distance of interest
+     * @return The edit distance, or maxEdits + 1 if it is larger than maxEdits
+     */
+    static int prefixDistance(String query, String word, int maxEdits) {
+        int columns = Math.min(word.length(), query.length() + maxEdits);
+        int[] beforePrevious = new int[columns + 1];
+        int[] previous = new int[columns + 1];
+        int[] current = new int[columns + 1];
+        for (int j = 0; j <= columns; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= columns; j++) {
+                int cost = query.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && query.charAt(i - 1) == word.charAt(j - 2) && query.charAt(i - 2) == word.charAt(j - 1)) {
+                    // Swapped neighbouring characters count as one edit
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = swap;
+        }
+        // Any prefix of the word may match, so take the best column of the last row
+        int best = maxEdits + 1;
+        for (int j = 0; j <= columns; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    /**
+     * Split a name into normalized words: lower case, without accents or
+     * punctuation.
+     *
+     * @param name The name
+     * @return The name's words
+     */
+    public static List<String> words(String name) {
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> result = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                result.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the trigrams of a word, with a leading marker so the start of the
+     * word is weighted.
+     *
+     * @param word The word
+     * @return The word's trigrams
+     */
+    private static List<String> trigrams(String word) {
+        String padded = "^" + word;
+        List<String> result = new ArrayList<>(padded.length());
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    /**
+     * A Game and its normalized name.
+     */
+    private static class Entry {
+
+        private final Game game;
+        private final String normalizedName;
+
+        Entry(Game game, String normalizedName) {
+            this.game = game;
+            this.normalizedName = normalizedName;
+        }
+    }
+
+    /**
+     * The result of a local search.
+     */
+    public static class Result {
+
+        private final List<Game> games;
+        private final double confidence;
+
+        Result(List<Game> games, double confidence) {
+            this.games = games;
+            this.confidence = confidence;
+        }
+
+        /**
+         * Get the matching Games, best first.
+         *
+         * @return The matching Games
+         */
+        public List<Game> getGames() {
+            return games;
+        }
+
+        /**
+         * Get the confidence in the result. Full prefix matches with enough
+         * results give 1, typo matches and few results lower it.
+         *
+         * @return A value between 0 and 1
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.steamgriddb.Index;
+
+import com.steamgriddb.Enums.SGDBIdTypes;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bidirectional mapping between platform ids (SteamAppId, GogId, EgsId,
+ * UplayId, OriginId) and SGDB GameIds.
+ * <p>
+ * When a default index is set, every successful Game resolution by a
+ * platform id is added to it, and later Game and Grid lookups by a known
+ * platform id are sent to the GameId endpoints instead.
+ *
+ * @author mpaterakis
+ */
+public class GameIdIndex {
+
+    /*
+    * Fields
+     */
+    private static volatile GameIdIndex defaultIndex = null;
+
+    private final EnumMap<SGDBIdTypes, Map<String, String>> gameIds = new EnumMap<>(SGDBIdTypes.class);
+    private final Map<String, Map<SGDBIdTypes, String>> platformIds = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for GameIdIndex.
+     */
+    public GameIdIndex() {
+        for (SGDBIdTypes type : SGDBIdTypes.values()) {
+            if (type != SGDBIdTypes.GameId) {
+                gameIds.put(type, new ConcurrentHashMap<>());
+            }
+        }
+    }
+
+    /**
+     * Get the index used by Game and Grid lookups.
+     *
+     * @return The default index, or null if none is set
+     */
+    public static GameIdIndex getDefault() {
+        return defaultIndex;
+    }
+
+    /**
+     * Set the index used by Game and Grid lookups.
+     *
+     * @param index The index, or null to stop using one
+     */
+    public static void setDefault(GameIdIndex index) {
+        defaultIndex = index;
+    }
+
+    /**
+     * Add a mapping.
+     *
+     * @param type The type of the platform id
+     * @param platformId The platform id
+     * @param gameId The GameId it resolves to
+     */
+    public void put(SGDBIdTypes type, String platformId, String gameId) {
+        if (type == SGDBIdTypes.GameId || gameId == null || gameId.isEmpty()) {
+            return;
+        }
+        gameIds.get(type).put(platformId, gameId);
+        platformIds.compute(gameId, (key, ids) -> {
+            Map<SGDBIdTypes, String> updated = ids != null ? new EnumMap<>(ids) : new EnumMap<>(SGDBIdTypes.class);
+            updated.put(type, platformId);
+            return Collections.unmodifiableMap(updated);
+        });
+    }
+
+    /**
+     * Get the GameId a platform id resolves to.
+     *
+     * @param type The type of the platform id
+     * @param platformId The platform id
+     * @return The GameId, or null if the mapping is unknown
+     */
+    public String getGameId(SGDBIdTypes type, String platformId) {
+        if (type == SGDBIdTypes.GameId) {
+            return platformId;
+        }
+        return gameIds.get(type).get(platformId);
+    }
+
+    /**
+     * Get the known platform ids of a Game.
+     *
+     * @param gameId The GameId
+     * @return The platform ids by type (Empty if none are known)
+     */
+    public Map<SGDBIdTypes, String> getPlatformIds(String gameId) {
+        return platformIds.getOrDefault(gameId, Collections.emptyMap());
+    }
+
+    /**
+     * Get the amount of known mappings.
+     *
+     * @return The amount of mappings
+     */
+    public int size() {
+        int size = 0;
+        for (Map<String, String> ids : gameIds.values()) {
+            size += ids.size();
+        }
+        return size;
+    }
+
+    /**
+     * Save the index to a file, one tab separated mapping per line.
+     *
+     * @param path The file
+     * @throws IOException If the file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<SGDBIdTypes, Map<String, String>> type : gameIds.entrySet()) {
+                for (Map.Entry<String, String> mapping : type.getValue().entrySet()) {
+                    writer.write(type.getKey().name());
+                    writer.write('\t');
+                    writer.write(mapping.getKey());
+                    writer.write('\t');
+                    writer.write(mapping.getValue());
+                    writer.newLine();
+                }
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Load an index saved by {@link #save(Path)}.
+     *
+     * @param path The file
+     * @return The loaded index (Empty if the file does not exist)
+     * @throws IOException If the file cannot be read
+     */
+    public static GameIdIndex load(Path path) throws IOException {
+        GameIdIndex index = new GameIdIndex();
+        if (!Files.exists(path)) {
+            return index;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", 3);
+                if (fields.length == 3) {
+                    index.put(SGDBIdTypes.valueOf(fields[0]), fields[1], fields[2]);
+                }
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,411 @@
+package com.steamgriddb.Index;
+
+import com.steamgriddb.Grid;
+import com.steamgriddb.Enums.SGDBStyles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-process catalog of Grids with secondary indexes, answering
+ * {@link GridQuery} lookups without API calls or linear scans.
+ * <p>
+ * Every Grid gets an ordinal. Styles, tags, Authors and Games map to bitmaps
+ * of ordinals, so compound conditions are answered by intersecting bitmaps.
+ * Matches are then read from an ordinal array sorted by descending score,
+ * which stops as soon as the limit or the minimum score is reached.
+ *
+ * @author mpaterakis
+ */
+public class GridCatalog {
+
+    /*
+    * Fields
+     */
+    private static final SGDBStyles[] STYLES = SGDBStyles.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ArrayList<Grid> grids = new ArrayList<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final ArrayList<String> gameIds = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final BitSet[] styleIndex = new BitSet[STYLES.length];
+    private final Map<String, BitSet> tagIndex = new HashMap<>();
+    private final Map<String, BitSet> authorIndex = new HashMap<>();
+    private final Map<String, BitSet> gameIndex = new HashMap<>();
+    private double[] scores = new double[16];
+    private int[] scoreOrder = new int[0];
+    private boolean scoreOrderStale = false;
+
+    /**
+     * Constructor for GridCatalog.
+     */
+    public GridCatalog() {
+        for (int i = 0; i < styleIndex.length; i++) {
+            styleIndex[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Add Grids to the catalog. A Grid whose ID is already in the catalog
+     * replaces the previous one.
+     *
+     * @param grids The Grids
+     */
+    public void addAll(Collection<Grid> grids) {
+        addAll(null, grids);
+    }
+
+    /**
+     * Add the Grids of a Game to the catalog, so they can be queried by Game.
+     * A Grid whose ID is already in the catalog replaces the previous one.
+     *
+     * @param gameId The Game's GameId
+     * @param grids The Game's Grids
+     */
+    public void addAll(String gameId, Collection<Grid> grids) {
+        lock.writeLock().lock();
+        try {
+            for (Grid grid : grids) {
+                add(gameId, grid);
+            }
+            scoreOrderStale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a Grid from the catalog.
+     *
+     * @param gridId The Grid's ID
+     * @return True if the Grid was in the catalog
+     */
+    public boolean remove(String gridId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(gridId);
+            if (ordinal == null) {
+                return false;
+            }
+            unindex(ordinal);
+            grids.set(ordinal, null);
+            gameIds.set(ordinal, null);
+            scoreOrderStale = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get a Grid by its ID.
+     *
+     * @param gridId The Grid's ID
+     * @return The Grid, or null if it is not in the catalog
+     */
+    public Grid get(String gridId) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(gridId);
+            return ordinal != null ? grids.get(ordinal) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the amount of Grids in the catalog.
+     *
+     * @return The amount of Grids
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the Grids matching a query, highest scores first.
+     *
+     * @param query The query
+     * @return The matching Grids
+     */
+    public List<Grid> query(GridQuery query) {
+        return query(query, query.limit);
+    }
+
+    /**
+     * Find the highest scoring Grids matching a query.
+     *
+     * @param query The query
+     * @param k The maximum amount of Grids
+     * @return Up to k matching Grids, highest scores first
+     */
+    public List<Grid> top(GridQuery query, int k) {
+        return query(query, Math.min(k, query.limit));
+    }
+
+    /**
+     * Find the Grids matching a query, highest scores first.
+     *
+     * @param query The query
+     * @param limit The maximum amount of Grids
+     * @return The matching Grids
+     */
+    private List<Grid> query(GridQuery query, int limit) {
+        lock.readLock().lock();
+        if (scoreOrderStale) {
+            // The read lock cannot be upgraded: rebuild under the write lock and
+            // downgrade to the read lock before a writer can stale it again
+            lock.readLock().unlock();
+            lock.writeLock().lock();
+            try {
+                if (scoreOrderStale) {
+                    rebuildScoreOrder();
+                }
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        try {
+            BitSet candidates = candidates(query);
+            if (candidates != null && candidates.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            // Walking the score order visits about limit * n / c ordinals to find
+            // limit of c candidates; sorting the candidates costs c * log(c)
+            if (candidates != null) {
+                long count = candidates.cardinality();
+                double walkCost = Math.min((double) scoreOrder.length, (double) limit * scoreOrder.length / count);
+                double sortCost = count * (64 - Long.numberOfLeadingZeros(count));
+                if (sortCost < walkCost) {
+                    return sortCandidates(candidates, query.minScore, limit);
+                }
+            }
+
+            List<Grid> result = new ArrayList<>(Math.min(limit, 64));
+            for (int ordinal : scoreOrder) {
+                if (result.size() >= limit || scores[ordinal] < query.minScore) {
+                    break;
+                }
+                if (candidates == null || candidates.get(ordinal)) {
+                    result.add(grids.get(ordinal));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sort a small set of candidates by descending score. Must be called with
+     * the read lock held.
+     *
+     * @param candidates The candidate ordinals
+     * @param minScore The minimum score
+     * @param limit The maximum amount of Grids
+     * @return The matching Grids
+     */
+    private List<Grid> sortCandidates(BitSet candidates, double minScore, int limit) {
+        Integer[] matches = new Integer[candidates.cardinality()];
+        int count = 0;
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            if (scores[ordinal] >= minScore) {
+                matches[count++] = ordinal;
+            }
+        }
+        Arrays.sort(matches, 0, count, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        List<Grid> result = new ArrayList<>(Math.min(limit, count));
+        for (int i = 0; i < count && i < limit; i++) {
+            result.add(grids.get(matches[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Remove every Grid from the catalog.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            grids.clear();
+            gameIds.clear();
+            ordinals.clear();
+            live.clear();
+            for (BitSet bits : styleIndex) {
+                bits.clear();
+            }
+            tagIndex.clear();
+            authorIndex.clear();
+            gameIndex.clear();
+            scoreOrder = new int[0];
+            scoreOrderStale = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a single Grid. Must be called with the write lock held.
+     *
+     * @param gameId The Game's GameId (May be null)
+     * @param grid The Grid
+     */
+    private void add(String gameId, Grid grid) {
+        Integer existing = ordinals.get(grid.getId());
+        int ordinal;
+        if (existing != null) {
+            ordinal = existing;
+            unindex(ordinal);
+            grids.set(ordinal, grid);
+            gameIds.set(ordinal, gameId);
+        } else {
+            ordinal = grids.size();
+            grids.add(grid);
+            gameIds.add(gameId);
+            ordinals.put(grid.getId(), ordinal);
+        }
+
+        if (ordinal >= scores.length) {
+            scores = Arrays.copyOf(scores, Math.max(ordinal + 1, scores.length * 2));
+        }
+        scores[ordinal] = grid.getScore();
+        live.set(ordinal);
+        if (grid.getSGDBStyle() != null) {
+            styleIndex[grid.getSGDBStyle().ordinal()].set(ordinal);
+        }
+        for (String tag : grid.getTags()) {
+            tagIndex.computeIfAbsent(tag, k -> new BitSet()).set(ordinal);
+        }
+        if (grid.getAuthor() != null) {
+            authorIndex.computeIfAbsent(grid.getAuthor().getSteam64(), k -> new BitSet()).set(ordinal);
+        }
+        if (gameId != null) {
+            gameIndex.computeIfAbsent(gameId, k -> new BitSet()).set(ordinal);
+        }
+    }
+
+    /**
+     * Clear a Grid's ordinal from every index. Must be called with the write
+     * lock held.
+     *
+     * @param ordinal The Grid's ordinal
+     */
+    private void unindex(int ordinal) {
+        live.clear(ordinal);
+        for (BitSet bits : styleIndex) {
+            bits.clear(ordinal);
+        }
+        Grid grid = grids.get(ordinal);
+        for (String tag : grid.getTags()) {
+            clear(tagIndex, tag, ordinal);
+        }
+        if (grid.getAuthor() != null) {
+            clear(authorIndex, grid.getAuthor().getSteam64(), ordinal);
+        }
+        if (gameIds.get(ordinal) != null) {
+            clear(gameIndex, gameIds.get(ordinal), ordinal);
+        }
+    }
+
+    /**
+     * Clear an ordinal from an inverted index entry, dropping the entry once
+     * it is empty.
+     *
+     * @param index The inverted index
+     * @param key The entry's key
+     * @param ordinal The ordinal
+     */
+    private static void clear(Map<String, BitSet> index, String key, int ordinal) {
+        BitSet bits = index.get(key);
+        if (bits != null) {
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Intersect the bitmaps of a query's conditions. Must be called with the
+     * read lock held.
+     *
+     * @param query The query
+     * @return The candidate ordinals, or null if the query has no bitmap conditions
+     */
+    private BitSet candidates(GridQuery query) {
+        BitSet result = null;
+
+        if (query.styleMask != 0) {
+            result = new BitSet();
+            for (SGDBStyles style : STYLES) {
+                if ((query.styleMask & (1 << style.ordinal())) != 0) {
+                    result.or(styleIndex[style.ordinal()]);
+                }
+            }
+        }
+        for (String tag : query.tags) {
+            result = intersect(result, tagIndex.get(tag));
+        }
+        if (query.authorSteam64 != null) {
+            result = intersect(result, authorIndex.get(query.authorSteam64));
+        }
+        if (query.gameId != null) {
+            result = intersect(result, gameIndex.get(query.gameId));
+        }
+
+        return result;
+    }
+
+    /**
+     * Intersect a running result with an index entry.
+     *
+     * @param result The running result (Null for none yet)
+     * @param bits The index entry (Null for no matches)
+     * @return The intersection
+     */
+    private static BitSet intersect(BitSet result, BitSet bits) {
+        if (bits == null) {
+            return new BitSet();
+        }
+        if (result == null) {
+            return (BitSet) bits.clone();
+        }
+        result.and(bits);
+        return result;
+    }
+
+    /**
+     * Sort the live ordinals by descending score. Must be called with the
+     * write lock held.
+     */
+    private void rebuildScoreOrder() {
+        Integer[] order = new Integer[live.cardinality()];
+        int i = 0;
+        for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+            order[i++] = ordinal;
+        }
+        double[] currentScores = scores;
+        Arrays.sort(order, (a, b) -> Double.compare(currentScores[b], currentScores[a]));
+        scoreOrder = new int[order.length];
+        for (i = 0; i < order.length; i++) {
+            scoreOrder[i] = order[i];
+        }
+        scoreOrderStale = false;
+    }
+}
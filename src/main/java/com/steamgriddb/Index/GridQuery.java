@@ -0,0 +1,94 @@
+package com.steamgriddb.Index;
+
+import com.steamgriddb.Enums.SGDBStyles;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compound query over a {@link GridCatalog}. All given conditions must
+ * match; a query without conditions matches every Grid.
+ *
+ * @author mpaterakis
+ */
+public class GridQuery {
+
+    /*
+    * Fields
+     */
+    double minScore = Double.NEGATIVE_INFINITY;
+    int styleMask = 0;
+    final List<String> tags = new ArrayList<>(2);
+    String authorSteam64 = null;
+    String gameId = null;
+    int limit = Integer.MAX_VALUE;
+
+    /**
+     * Only match Grids with at least the given score.
+     *
+     * @param minScore The minimum score
+     * @return This GridQuery
+     */
+    public GridQuery minScore(double minScore) {
+        this.minScore = minScore;
+        return this;
+    }
+
+    /**
+     * Only match Grids of one of the given styles. Calling this more than once
+     * adds to the accepted styles.
+     *
+     * @param styles The accepted styles
+     * @return This GridQuery
+     */
+    public GridQuery styles(SGDBStyles... styles) {
+        for (SGDBStyles style : styles) {
+            styleMask |= 1 << style.ordinal();
+        }
+        return this;
+    }
+
+    /**
+     * Only match Grids having the given tag. Calling this more than once
+     * requires every given tag.
+     *
+     * @param tag The required tag
+     * @return This GridQuery
+     */
+    public GridQuery tag(String tag) {
+        tags.add(tag);
+        return this;
+    }
+
+    /**
+     * Only match Grids by the given Author.
+     *
+     * @param steam64 The Author's Steam64 ID
+     * @return This GridQuery
+     */
+    public GridQuery author(String steam64) {
+        this.authorSteam64 = steam64;
+        return this;
+    }
+
+    /**
+     * Only match Grids that were added to the catalog for the given Game.
+     *
+     * @param gameId The Game's GameId
+     * @return This GridQuery
+     */
+    public GridQuery game(String gameId) {
+        this.gameId = gameId;
+        return this;
+    }
+
+    /**
+     * Return at most the given amount of Grids, highest scores first.
+     *
+     * @param limit The maximum amount of Grids
+     * @return This GridQuery
+     */
+    public GridQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+}
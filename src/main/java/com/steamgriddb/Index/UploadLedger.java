@@ -0,0 +1,197 @@
+package com.steamgriddb.Index;
+
+import com.steamgriddb.Enums.SGDBStyles;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A record of the images uploaded as Grids, by the SHA-256 hash of their
+ * contents and the game and style they were uploaded to.
+ * <p>
+ * When a default ledger is set, Grid uploads of an image already uploaded
+ * for the same game and style are skipped, and every successful upload is
+ * added to it. A ledger opened from a file appends every upload to it as
+ * soon as it is added.
+ *
+ * @author mpaterakis
+ */
+public class UploadLedger implements Closeable {
+
+    /*
+    * Fields
+     */
+    private static volatile UploadLedger defaultLedger = null;
+
+    private final Set<String> uploads = ConcurrentHashMap.newKeySet();
+    private final BufferedWriter writer;
+
+    /**
+     * Constructor for UploadLedger. The ledger is kept in memory only.
+     */
+    public UploadLedger() {
+        this.writer = null;
+    }
+
+    /**
+     * Constructor for UploadLedger.
+     *
+     * @param writer The writer new uploads are appended to
+     */
+    private UploadLedger(BufferedWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Open a ledger file, reading the uploads already in it. New uploads are
+     * appended to the file.
+     *
+     * @param path The ledger's file (Created if it does not exist)
+     * @return The ledger
+     * @throws IOException If the file cannot be read or opened for writing
+     */
+    public static UploadLedger open(Path path) throws IOException {
+        UploadLedger ledger = new UploadLedger(Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.split("\t", -1).length == 3) {
+                    ledger.uploads.add(line);
+                }
+            }
+        }
+        return ledger;
+    }
+
+    /**
+     * Get the ledger used by Grid uploads.
+     *
+     * @return The default ledger, or null if none is set
+     */
+    public static UploadLedger getDefault() {
+        return defaultLedger;
+    }
+
+    /**
+     * Set the ledger used by Grid uploads.
+     *
+     * @param ledger The ledger, or null to stop using one
+     */
+    public static void setDefault(UploadLedger ledger) {
+        defaultLedger = ledger;
+    }
+
+    /**
+     * Check whether an image was already uploaded.
+     *
+     * @param gameId The GameId the image was uploaded to
+     * @param style The style it was uploaded as
+     * @param hash The hash of the image, as returned by {@link #hash(Path)}
+     * @return True if it was uploaded, false if otherwise
+     */
+    public boolean contains(String gameId, SGDBStyles style, String hash) {
+        return uploads.contains(key(gameId, style, hash));
+    }
+
+    /**
+     * Add an uploaded image. If the ledger was opened from a file, the upload
+     * is appended to it.
+     *
+     * @param gameId The GameId the image was uploaded to
+     * @param style The style it was uploaded as
+     * @param hash The hash of the image, as returned by {@link #hash(Path)}
+     */
+    public void add(String gameId, SGDBStyles style, String hash) {
+        String key = key(gameId, style, hash);
+        if (!uploads.add(key) || writer == null) {
+            return;
+        }
+        synchronized (writer) {
+            try {
+                writer.write(key);
+                writer.newLine();
+                writer.flush();
+            } catch (IOException ex) {
+                Logger.getLogger(UploadLedger.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Get the amount of recorded uploads.
+     *
+     * @return The amount of uploads
+     */
+    public int size() {
+        return uploads.size();
+    }
+
+    /**
+     * Close the ledger's file, if it has one.
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            synchronized (writer) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Hash the contents of an image file.
+     *
+     * @param file The image file
+     * @return The hex encoded SHA-256 hash of the file
+     * @throws IOException If the file cannot be read
+     */
+    public static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Get the key of an upload, which is also its line in the ledger's file.
+     *
+     * @param gameId The GameId
+     * @param style The style
+     * @param hash The image's hash
+     * @return The key
+     */
+    private static String key(String gameId, SGDBStyles style, String hash) {
+        return gameId + "\t" + style.getValue() + "\t" + hash;
+    }
+}
@@ -0,0 +1,108 @@
+package com.steamgriddb;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of canonical instances, held weakly so that instances no longer
+ * used anywhere else can be garbage collected. Lookups do not lock, so
+ * responses can be decoded concurrently.
+ *
+ * @author mpaterakis
+ * @param <T> The type of the pooled instances
+ */
+class Interner<T> {
+
+    /*
+    * Fields
+     */
+    private final ConcurrentHashMap<Key<T>, Key<T>> pool = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> cleared = new ReferenceQueue<>();
+
+    /**
+     * Get the canonical instance equal to a value, pooling the value itself
+     * if there is none yet.
+     *
+     * @param value The value
+     * @return The canonical instance
+     */
+    T intern(T value) {
+        expunge();
+        Key<T> key = new Key<>(value, cleared);
+        while (true) {
+            Key<T> existing = pool.putIfAbsent(key, key);
+            if (existing == null) {
+                return value;
+            }
+            T canonical = existing.get();
+            if (canonical != null) {
+                return canonical;
+            }
+            // Collected but not expunged yet
+            pool.remove(existing, existing);
+        }
+    }
+
+    /**
+     * Get the amount of pooled instances.
+     *
+     * @return The amount of pooled instances
+     */
+    int size() {
+        expunge();
+        return pool.size();
+    }
+
+    /**
+     * Remove the keys of collected instances.
+     */
+    private void expunge() {
+        Object key;
+        while ((key = cleared.poll()) != null) {
+            pool.remove(key);
+        }
+    }
+
+    /**
+     * A weak reference to a pooled instance, equal to the references of
+     * equal instances.
+     *
+     * @param <T> The type of the pooled instance
+     */
+    private static class Key<T> extends WeakReference<T> {
+
+        /*
+        * Fields
+         */
+        private final int hash;
+
+        /**
+         * Constructor for Key.
+         *
+         * @param value The pooled instance
+         * @param queue The queue the key is added to once the instance is collected
+         */
+        Key(T value, ReferenceQueue<T> queue) {
+            super(value, queue);
+            this.hash = value.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Object value = get();
+            return value != null && value.equals(((Key<?>) other).get());
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.steamgriddb;
 
 import com.steamgriddb.Connection.SGDBConnectionManager;
-import com.steamgriddb.Enums.SGDBIdTypes;
+import com.steamgriddb.Index.AutocompleteIndex;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.json.JSONArray;
@@ -17,25 +21,95 @@ import org.json.JSONObject;
  */
 public class Search {
 
+    /*
+    * Fields
+     */
+    static final int AUTOCOMPLETE_LIMIT = 10;
+
     /**
-     * Search for Games using a search term.
+     * Search for Games using a search term. If a default AutocompleteIndex is
+     * set, it answers instead of the API when it is confident enough.
      *
      * @param searchTerm The search term to be used in the search
      * @return An ArrayList of Game objects that the search yielded
      */
     public static ArrayList<Game> searchGamesByName(String searchTerm) {
-        JSONObject json = new JSONObject();
+        AutocompleteIndex index = AutocompleteIndex.getDefault();
+        if (index != null) {
+            AutocompleteIndex.Result local = index.search(searchTerm, AUTOCOMPLETE_LIMIT);
+            if (local.getConfidence() >= index.getMinConfidence()) {
+                return new ArrayList<>(local.getGames());
+            }
+        }
+
+        JSONObject json = new JSONObject("{ \"success\": false }");
         try {
             json = SGDBConnectionManager.getJSON("search/autocomplete/" + URLEncoder.encode(searchTerm, "UTF-8"));
         } catch (UnsupportedEncodingException ex) {
             Logger.getLogger(Search.class.getName()).log(Level.SEVERE, null, ex);
         }
 
+        ArrayList<Game> games = getGamesFromJSON(json);
+        if (index != null) {
+            index.addAll(games);
+        }
+        return games;
+    }
+
+    /**
+     * Search for Games using a search term without blocking. Cancelling the
+     * returned future also cancels the request.
+     *
+     * @param searchTerm The search term to be used in the search
+     * @return A future of an ArrayList of Game objects that the search yielded
+     */
+    public static CompletableFuture<ArrayList<Game>> searchGamesByNameAsync(String searchTerm) {
+        return searchGamesByNameAsync(searchTerm, false);
+    }
+
+    /**
+     * Search for Games using a search term without blocking. Cancelling the
+     * returned future also cancels the request.
+     *
+     * @param searchTerm The search term to be used in the search
+     * @param failOnError Fail the future with an IOException if the request does not succeed, instead of yielding no Games
+     * @return A future of an ArrayList of Game objects that the search yielded
+     */
+    static CompletableFuture<ArrayList<Game>> searchGamesByNameAsync(String searchTerm, boolean failOnError) {
+        CompletableFuture<JSONObject> request = SGDBConnectionManager.getJSONAsync(
+                "search/autocomplete/" + URLEncoder.encode(searchTerm, StandardCharsets.UTF_8));
+        CompletableFuture<ArrayList<Game>> games = request.thenApply(json -> {
+            int status = SGDBConnectionManager.getStatus(json);
+            if (failOnError && status != 200) {
+                throw new CompletionException(new IOException("Search failed with status code " + status + ": " + searchTerm));
+            }
+            ArrayList<Game> result = getGamesFromJSON(json);
+            AutocompleteIndex index = AutocompleteIndex.getDefault();
+            if (index != null) {
+                index.addAll(result);
+            }
+            return result;
+        });
+        games.whenComplete((result, ex) -> {
+            if (games.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return games;
+    }
+
+    /**
+     * Get the Games contained in an autocomplete JSONObject returned by the API.
+     *
+     * @param json A JSONObject containing the API's autocomplete response
+     * @return An ArrayList of Game objects found in the response
+     */
+    public static ArrayList<Game> getGamesFromJSON(JSONObject json) {
         if (json.getBoolean("success")) {
-            ArrayList<Game> games = new ArrayList<>();
             JSONArray gamesArray = json.getJSONArray("data");
+            ArrayList<Game> games = new ArrayList<>(gamesArray.length());
             for (int i = 0; i < gamesArray.length(); i++) {
-                games.add(new Game(String.valueOf(gamesArray.getJSONObject(i).getInt("id")), SGDBIdTypes.GameId));
+                games.add(Game.fromData(gamesArray.getJSONObject(i)));
             }
             return games;
         }
@@ -51,7 +125,7 @@ public class Search {
      * @return A JSONObject that the search yielded
      */
     public static JSONObject searchGamesByNameJSON(String searchTerm) {
-        JSONObject json = SGDBConnectionManager.getJSON("search/autocomplete/" + searchTerm);
+        JSONObject json = SGDBConnectionManager.getJSON("search/autocomplete/" + URLEncoder.encode(searchTerm, StandardCharsets.UTF_8));
         return json;
     }
 }
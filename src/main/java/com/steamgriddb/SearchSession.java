@@ -0,0 +1,219 @@
+package com.steamgriddb;
+
+import com.steamgriddb.Index.AutocompleteIndex;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * An autocomplete session for a search box. Input is debounced, requests made
+ * for superseded input are cancelled, and only the results of the latest
+ * input reach the listener.
+ * <p>
+ * When a term extends an earlier term whose results were complete (fewer
+ * than the API's autocomplete limit), the earlier results are filtered
+ * locally instead of making a request. Only successful responses are
+ * remembered: a failed request fails the term's future with an IOException.
+ *
+ * @author mpaterakis
+ */
+public class SearchSession implements AutoCloseable {
+
+    /*
+    * Fields
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sgdb-search-session");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final int MAX_REMEMBERED_TERMS = 64;
+
+    private final Duration debounce;
+    private final Consumer<List<Game>> listener;
+    private final Map<String, List<Game>> results = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<Game>> eldest) {
+            return size() > MAX_REMEMBERED_TERMS;
+        }
+    };
+    private long generation = 0;
+    private ScheduledFuture<?> pending = null;
+    private CompletableFuture<?> inFlight = null;
+    private CompletableFuture<List<Game>> latest = null;
+
+    /**
+     * Constructor for SearchSession.
+     *
+     * @param debounce The time input has to stay unchanged before a request is made
+     * @param listener Receives the results of the latest input
+     */
+    public SearchSession(Duration debounce, Consumer<List<Game>> listener) {
+        this.debounce = debounce;
+        this.listener = listener;
+    }
+
+    /**
+     * Update the search term, e.g. on every keystroke.
+     *
+     * @param searchTerm The current search term
+     * @return A future of this term's results, cancelled if a newer term supersedes it
+     */
+    public synchronized CompletableFuture<List<Game>> update(String searchTerm) {
+        long current = ++generation;
+        cancelPending();
+        CompletableFuture<List<Game>> future = new CompletableFuture<>();
+        latest = future;
+
+        String term = String.join(" ", AutocompleteIndex.words(searchTerm));
+        if (term.isEmpty()) {
+            deliver(current, future, new ArrayList<>());
+            return future;
+        }
+
+        List<Game> known = knownResults(term);
+        if (known != null) {
+            deliver(current, future, known);
+            return future;
+        }
+
+        pending = SCHEDULER.schedule(() -> request(current, term, searchTerm, future),
+                debounce.toNanos(), TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    /**
+     * Cancel the pending and in-flight requests. The listener receives
+     * nothing more until the next update.
+     */
+    @Override
+    public synchronized void close() {
+        generation++;
+        cancelPending();
+    }
+
+    /**
+     * Make the request of a term once its debounce delay has passed.
+     *
+     * @param current The generation of the term
+     * @param term The normalized term
+     * @param searchTerm The term as typed
+     * @param future The term's future
+     */
+    private synchronized void request(long current, String term, String searchTerm, CompletableFuture<List<Game>> future) {
+        if (current != generation) {
+            return;
+        }
+        CompletableFuture<ArrayList<Game>> request = Search.searchGamesByNameAsync(searchTerm, true);
+        inFlight = request;
+        request.whenComplete((games, ex) -> {
+            if (games != null) {
+                synchronized (this) {
+                    results.put(term, games);
+                }
+                deliver(current, future, games);
+            } else if (!request.isCancelled()) {
+                future.completeExceptionally(ex);
+            }
+        });
+    }
+
+    /**
+     * Deliver results if they still belong to the latest term. The listener
+     * is called while holding the lock, so results of an older term can
+     * never reach it after those of a newer one.
+     *
+     * @param current The generation of the results' term
+     * @param future The term's future
+     * @param games The results
+     */
+    private void deliver(long current, CompletableFuture<List<Game>> future, List<Game> games) {
+        synchronized (this) {
+            if (current != generation) {
+                future.cancel(false);
+                return;
+            }
+            listener.accept(games);
+        }
+        future.complete(games);
+    }
+
+    /**
+     * Get the results of a term from the complete results of a term it
+     * extends.
+     *
+     * @param term The normalized term
+     * @return The term's results, or null if they are not known
+     */
+    private List<Game> knownResults(String term) {
+        List<Game> exact = results.get(term);
+        if (exact != null) {
+            return exact;
+        }
+
+        for (int end = term.length() - 1; end > 0; end--) {
+            List<Game> prefixResults = results.get(term.substring(0, end));
+            if (prefixResults != null && prefixResults.size() < Search.AUTOCOMPLETE_LIMIT) {
+                List<String> termWords = AutocompleteIndex.words(term);
+                List<Game> filtered = new ArrayList<>();
+                for (Game game : prefixResults) {
+                    if (matches(AutocompleteIndex.words(game.getName()), termWords)) {
+                        filtered.add(game);
+                    }
+                }
+                results.put(term, filtered);
+                return filtered;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check that every word of a term starts a word of a name.
+     *
+     * @param nameWords The name's words
+     * @param termWords The term's words
+     * @return True if every term word matches
+     */
+    private static boolean matches(List<String> nameWords, List<String> termWords) {
+        for (String termWord : termWords) {
+            boolean found = false;
+            for (String nameWord : nameWords) {
+                if (nameWord.startsWith(termWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cancel the pending and in-flight requests and the latest future.
+     */
+    private void cancelPending() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+        if (latest != null) {
+            latest.cancel(false);
+            latest = null;
+        }
+    }
+}
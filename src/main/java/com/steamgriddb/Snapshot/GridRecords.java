@@ -0,0 +1,97 @@
+package com.steamgriddb.Snapshot;
+
+import com.steamgriddb.Author;
+import com.steamgriddb.Grid;
+import com.steamgriddb.Enums.SGDBStyles;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Encodes and decodes Grid records, shared by snapshots and the off-heap
+ * store.
+ * <p>
+ * A grid record holds its id (varint), score (8 bytes), style (1 byte,
+ * ordinal + 1 or 0), URL and thumb (prefix string id up to the last slash
+ * and suffix string), tag string ids and Author id (0 for no Author). String
+ * and Author ids refer to dictionaries kept by the caller.
+ *
+ * @author mpaterakis
+ */
+class GridRecords {
+
+    /*
+    * Fields
+     */
+    private static final SGDBStyles[] STYLES = SGDBStyles.values();
+
+    /**
+     * Write a Grid record.
+     *
+     * @param out The output
+     * @param grid The Grid
+     * @param stringId Gets the dictionary id of a string, adding it if needed
+     * @param authorId Gets the dictionary id of an Author, adding it if needed
+     * @throws IOException If the output cannot be written
+     */
+    static void write(DataOutputStream out, Grid grid, ToIntFunction<String> stringId, ToIntFunction<Author> authorId) throws IOException {
+        SnapshotFormat.writeVarLong(out, Long.parseLong(grid.getId()));
+        out.writeDouble(grid.getScore());
+        out.writeByte(grid.getSGDBStyle() != null ? grid.getSGDBStyle().ordinal() + 1 : 0);
+        writeUrl(out, grid.getUrl(), stringId);
+        writeUrl(out, grid.getThumb(), stringId);
+        SnapshotFormat.writeVarLong(out, grid.getTags().size());
+        for (String tag : grid.getTags()) {
+            SnapshotFormat.writeVarLong(out, stringId.applyAsInt(tag));
+        }
+        SnapshotFormat.writeVarLong(out, grid.getAuthor() != null ? authorId.applyAsInt(grid.getAuthor()) : 0);
+    }
+
+    /**
+     * Read a Grid record at the buffer's position.
+     *
+     * @param reader The buffer
+     * @param strings Gets a string by its dictionary id
+     * @param authors Gets an Author by its dictionary id (Not called for id 0)
+     * @return The Grid
+     */
+    static Grid read(ByteBuffer reader, IntFunction<String> strings, IntFunction<Author> authors) {
+        String id = String.valueOf(SnapshotFormat.readVarLong(reader));
+        double score = reader.getDouble();
+        int style = reader.get();
+        String url = strings.apply(SnapshotFormat.readVarInt(reader)) + SnapshotFormat.readString(reader);
+        String thumb = strings.apply(SnapshotFormat.readVarInt(reader)) + SnapshotFormat.readString(reader);
+        String[] tags = new String[SnapshotFormat.readVarInt(reader)];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = strings.apply(SnapshotFormat.readVarInt(reader));
+        }
+        int authorId = SnapshotFormat.readVarInt(reader);
+        Author author = authorId > 0 ? authors.apply(authorId) : null;
+
+        return new Grid(id, score, style > 0 ? STYLES[style - 1] : null, url, thumb, Arrays.asList(tags), author);
+    }
+
+    /**
+     * Write a URL as a dictionary encoded prefix, up to the last slash, and
+     * its remaining suffix.
+     *
+     * @param out The output
+     * @param url The URL
+     * @param stringId Gets the dictionary id of a string, adding it if needed
+     * @throws IOException If the output cannot be written
+     */
+    private static void writeUrl(DataOutputStream out, String url, ToIntFunction<String> stringId) throws IOException {
+        int split = url.lastIndexOf('/') + 1;
+        SnapshotFormat.writeVarLong(out, stringId.applyAsInt(url.substring(0, split)));
+        SnapshotFormat.writeString(out, url.substring(split));
+    }
+
+    /**
+     * Make constructor private to give class a static nature
+     */
+    private GridRecords() {
+    }
+}
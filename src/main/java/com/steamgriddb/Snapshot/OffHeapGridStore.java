@@ -0,0 +1,494 @@
+package com.steamgriddb.Snapshot;
+
+import com.steamgriddb.Author;
+import com.steamgriddb.Grid;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A cache of the Grids of many Games, kept outside the Java heap.
+ * <p>
+ * Grids are encoded as snapshot grid records (see GridRecords) into direct
+ * ByteBuffer segments. Tags, URL prefixes and Authors are dictionary
+ * encoded, and the GameId index is a primitive hash table, so the heap only
+ * holds the dictionaries and a few arrays no matter how many Grids are
+ * cached, and the garbage collector has almost nothing to scan. Every segment
+ * has its own dictionaries, which are dropped along with it.
+ * {@link #get(String)} returns a view decoding every Grid when it is
+ * accessed, so cached Grids only occupy the heap while they are used.
+ * <p>
+ * Replacing a Game's Grids leaves its old record behind. Once the store
+ * reaches its capacity, the oldest segment is dropped along with the Games
+ * whose records it holds. Views of dropped Games stay readable. Instances
+ * are safe to use from several threads.
+ *
+ * @author mpaterakis
+ */
+public class OffHeapGridStore {
+
+    /*
+    * Fields
+     */
+    private static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long maxBytes;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ArrayList<Segment> segments = new ArrayList<>();
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(encoded);
+    private long[] keys = new long[1024];
+    private long[] addresses = new long[1024];
+    private int size = 0;
+    private int nextSegmentId = 0;
+    private long allocatedBytes = 0;
+
+    /**
+     * Constructor for OffHeapGridStore.
+     *
+     * @param maxBytes The maximum amount of off-heap memory used for Grid records
+     */
+    public OffHeapGridStore(long maxBytes) {
+        this.maxBytes = maxBytes;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Cache the Grids of a Game, replacing any cached before.
+     *
+     * @param gameId The GameId of the Game
+     * @param grids The Game's Grids
+     * @return False if the Grids are larger than the store's capacity and were not cached
+     */
+    public boolean put(String gameId, List<Grid> grids) {
+        long key = Long.parseLong(gameId);
+        lock.writeLock().lock();
+        try {
+            int headerSize = 4 + 4 * grids.size();
+            Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            int[] offsets = segment != null ? encode(grids, segment.dictionary) : null;
+            if (segment == null || segment.buffer.remaining() < headerSize + encoded.size()) {
+                // The record goes in a new segment, encoded with its dictionaries
+                Dictionary dictionary = new Dictionary();
+                offsets = encode(grids, dictionary);
+                int recordSize = headerSize + encoded.size();
+                if (recordSize > maxBytes) {
+                    remove(key);
+                    return false;
+                }
+                segment = allocate(recordSize, dictionary);
+            }
+
+            int position = segment.buffer.position();
+            segment.buffer.putInt(offsets.length);
+            for (int offset : offsets) {
+                segment.buffer.putInt(headerSize + offset);
+            }
+            segment.buffer.put(encoded.toByteArray());
+            insert(key, ((long) segment.id << 32) | position);
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the cached Grids of a Game. The returned list decodes a Grid from
+     * off-heap memory every time it is accessed.
+     *
+     * @param gameId The GameId of the Game
+     * @return A read-only view of the Game's Grids, or null if they are not cached
+     */
+    public List<Grid> get(String gameId) {
+        long key;
+        try {
+            key = Long.parseLong(gameId);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            int slot = find(key);
+            if (keys[slot] == EMPTY) {
+                return null;
+            }
+            long address = addresses[slot];
+            Segment segment = segment((int) (address >>> 32));
+            return new GridView(segment.buffer.asReadOnlyBuffer(), (int) address, segment.dictionary);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Check whether the Grids of a Game are cached.
+     *
+     * @param gameId The GameId of the Game
+     * @return True if they are cached
+     */
+    public boolean contains(String gameId) {
+        return get(gameId) != null;
+    }
+
+    /**
+     * Drop the cached Grids of a Game.
+     *
+     * @param gameId The GameId of the Game
+     */
+    public void remove(String gameId) {
+        lock.writeLock().lock();
+        try {
+            remove(Long.parseLong(gameId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the amount of Games with cached Grids.
+     *
+     * @return The amount of Games
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the amount of off-heap memory allocated for Grid records.
+     *
+     * @return The amount of bytes
+     */
+    public long getAllocatedBytes() {
+        lock.readLock().lock();
+        try {
+            return allocatedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop every cached Grid and release the off-heap memory and dictionaries
+     * once no view uses them anymore.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            segments.clear();
+            allocatedBytes = 0;
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Encode the Grid records of a Game. Must be called while holding the
+     * write lock.
+     *
+     * @param grids The Game's Grids
+     * @param dictionary The dictionaries of the segment the records go in
+     * @return The offset of every Grid's record in the encoded records
+     * @throws IOException If the records cannot be encoded
+     */
+    private int[] encode(List<Grid> grids, Dictionary dictionary) throws IOException {
+        int[] offsets = new int[grids.size()];
+        encoded.reset();
+        for (int i = 0; i < grids.size(); i++) {
+            offsets[i] = encoded.size();
+            GridRecords.write(out, grids.get(i), dictionary::stringId, dictionary::authorId);
+        }
+        return offsets;
+    }
+
+    /**
+     * Allocate a new segment for a record, dropping the oldest ones if
+     * needed. Must be called while holding the write lock.
+     *
+     * @param recordSize The size of the record
+     * @param dictionary The dictionaries the record was encoded with
+     * @return The segment
+     */
+    private Segment allocate(int recordSize, Dictionary dictionary) {
+        int segmentSize = (int) Math.min(maxBytes, Math.max(SEGMENT_SIZE, recordSize));
+        while (!segments.isEmpty() && allocatedBytes + segmentSize > maxBytes) {
+            evict(segments.remove(0));
+        }
+        Segment segment = new Segment(nextSegmentId++, ByteBuffer.allocateDirect(segmentSize), dictionary);
+        segments.add(segment);
+        allocatedBytes += segmentSize;
+        return segment;
+    }
+
+    /**
+     * Get a segment by its id. Must be called while holding a lock.
+     *
+     * @param id The segment's id
+     * @return The segment
+     */
+    private Segment segment(int id) {
+        return segments.get(id - segments.get(0).id);
+    }
+
+    /**
+     * Drop a segment and the Games whose records it holds. Must be called
+     * while holding the write lock.
+     *
+     * @param segment The segment
+     */
+    private void evict(Segment segment) {
+        allocatedBytes -= segment.buffer.capacity();
+        long[] oldKeys = keys;
+        long[] oldAddresses = addresses;
+        keys = new long[oldKeys.length];
+        addresses = new long[oldAddresses.length];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && (int) (oldAddresses[i] >>> 32) != segment.id) {
+                insert(oldKeys[i], oldAddresses[i]);
+            }
+        }
+    }
+
+    /**
+     * Find the slot of a GameId in the hash table. Must be called while
+     * holding a lock.
+     *
+     * @param key The GameId
+     * @return The slot holding the GameId, or the empty slot it would go in
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Insert or replace a GameId's record address. Must be called while
+     * holding the write lock.
+     *
+     * @param key The GameId
+     * @param address The record's segment id and position
+     */
+    private void insert(long key, long address) {
+        if ((size + 1) * 2 > keys.length) {
+            long[] oldKeys = keys;
+            long[] oldAddresses = addresses;
+            keys = new long[oldKeys.length * 2];
+            addresses = new long[oldAddresses.length * 2];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    insert(oldKeys[i], oldAddresses[i]);
+                }
+            }
+        }
+        int slot = find(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        addresses[slot] = address;
+    }
+
+    /**
+     * Remove a GameId from the hash table, shifting back the GameIds probed
+     * after it. Must be called while holding the write lock.
+     *
+     * @param key The GameId
+     */
+    private void remove(long key) {
+        int slot = find(key);
+        if (keys[slot] == EMPTY) {
+            return;
+        }
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (keys[next] == EMPTY) {
+                break;
+            }
+            int home = hash(keys[next]) & mask;
+            boolean reachable = hole <= next ? (hole < home && home <= next) : (hole < home || home <= next);
+            if (!reachable) {
+                keys[hole] = keys[next];
+                addresses[hole] = addresses[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+    }
+
+    /**
+     * Spread a GameId's bits over a hash.
+     *
+     * @param key The GameId
+     * @return The hash
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * A direct buffer holding Game records.
+     */
+    private static class Segment {
+
+        /*
+        * Fields
+         */
+        private final int id;
+        private final ByteBuffer buffer;
+        private final Dictionary dictionary;
+
+        /**
+         * Create a Segment.
+         *
+         * @param id The segment's id
+         * @param buffer The segment's buffer
+         * @param dictionary The dictionaries of the segment's records
+         */
+        private Segment(int id, ByteBuffer buffer, Dictionary dictionary) {
+            this.id = id;
+            this.buffer = buffer;
+            this.dictionary = dictionary;
+        }
+    }
+
+    /**
+     * The string and Author dictionaries of a segment's records. Ids are only
+     * added while holding the store's write lock, and the arrays are replaced
+     * when they grow, so views can read them without locking.
+     */
+    private static class Dictionary {
+
+        /*
+        * Fields
+         */
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final Map<Author, Integer> authorIds = new HashMap<>();
+        private volatile String[] strings = new String[64];
+        private volatile Author[] authors = new Author[64];
+        private int stringCount = 0;
+        private int authorCount = 0;
+
+        /**
+         * Get the dictionary id of a string, adding it if needed.
+         *
+         * @param string The string
+         * @return The string's id
+         */
+        private int stringId(String string) {
+            Integer id = stringIds.get(string);
+            if (id == null) {
+                id = stringCount;
+                String[] current = strings;
+                if (id == current.length) {
+                    current = Arrays.copyOf(current, id * 2);
+                }
+                current[id] = string;
+                strings = current;
+                stringCount++;
+                stringIds.put(string, id);
+            }
+            return id;
+        }
+
+        /**
+         * Get the dictionary id of an Author, adding it if needed. Id 0 stands
+         * for no Author.
+         *
+         * @param author The Author
+         * @return The Author's id
+         */
+        private int authorId(Author author) {
+            Integer id = authorIds.get(author);
+            if (id == null) {
+                id = ++authorCount;
+                Author[] current = authors;
+                if (id == current.length) {
+                    current = Arrays.copyOf(current, id * 2);
+                }
+                current[id] = Author.intern(author);
+                authors = current;
+                authorIds.put(author, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * A read-only list of the Grids of a Game record, decoding them on access.
+     */
+    private static class GridView extends AbstractList<Grid> implements RandomAccess {
+
+        /*
+        * Fields
+         */
+        private final ByteBuffer buffer;
+        private final int position;
+        private final Dictionary dictionary;
+        private final int size;
+
+        /**
+         * Create a GridView.
+         *
+         * @param buffer The segment's buffer
+         * @param position The position of the Game record
+         * @param dictionary The segment's dictionaries
+         */
+        private GridView(ByteBuffer buffer, int position, Dictionary dictionary) {
+            this.buffer = buffer;
+            this.position = position;
+            this.dictionary = dictionary;
+            this.size = buffer.getInt(position);
+        }
+
+        @Override
+        public Grid get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Grid " + index + " of " + size);
+            }
+            ByteBuffer reader = buffer.duplicate();
+            reader.position(position + buffer.getInt(position + 4 + 4 * index));
+            String[] currentStrings = dictionary.strings;
+            Author[] currentAuthors = dictionary.authors;
+            return GridRecords.read(reader, i -> currentStrings[i], i -> currentAuthors[i]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.steamgriddb.Snapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and encoding helpers of the snapshot format.
+ * <p>
+ * A snapshot file is laid out as follows, all numbers big-endian:
+ * <pre>
+ * header    MAGIC, VERSION (1 byte)
+ * records   game and grid records, see SnapshotWriter
+ * strings   count (varint), then per string: length (varint), UTF-8 bytes
+ * authors   count (varint), then per author: name, steam64, avatar (string ids, varints)
+ * games     one record offset per game (8 bytes each)
+ * grids     one record offset per grid (8 bytes each)
+ * footer    positions of strings, authors, games and grids (8 bytes each),
+ *           game count, grid count (4 bytes each), MAGIC
+ * </pre>
+ *
+ * @author mpaterakis
+ */
+class SnapshotFormat {
+
+    /*
+    * Fields
+     */
+    static final byte[] MAGIC = "SGDBSNAP".getBytes(StandardCharsets.US_ASCII);
+    static final byte VERSION = 1;
+    static final int FOOTER_SIZE = 4 * 8 + 2 * 4 + 8;
+    static final long MAX_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * Write an unsigned variable length number.
+     *
+     * @param out The output
+     * @param value The number (Must not be negative)
+     * @return The amount of bytes written
+     * @throws IOException If the output cannot be written
+     */
+    static int writeVarLong(DataOutputStream out, long value) throws IOException {
+        int bytes = 1;
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+            bytes++;
+        }
+        out.writeByte((int) value);
+        return bytes;
+    }
+
+    /**
+     * Read an unsigned variable length number at the buffer's position.
+     *
+     * @param buffer The buffer
+     * @return The number
+     */
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Read an unsigned variable length int at the buffer's position.
+     *
+     * @param buffer The buffer
+     * @return The number
+     */
+    static int readVarInt(ByteBuffer buffer) {
+        return (int) readVarLong(buffer);
+    }
+
+    /**
+     * Write a length prefixed UTF-8 string.
+     *
+     * @param out The output
+     * @param value The string
+     * @throws IOException If the output cannot be written
+     */
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read a length prefixed UTF-8 string at the buffer's position.
+     *
+     * @param buffer The buffer
+     * @return The string
+     */
+    static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[readVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Make constructor private to give class a static nature
+     */
+    private SnapshotFormat() {
+    }
+}
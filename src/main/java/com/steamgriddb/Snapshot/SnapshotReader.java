@@ -0,0 +1,207 @@
+package com.steamgriddb.Snapshot;
+
+import com.steamgriddb.Author;
+import com.steamgriddb.Game;
+import com.steamgriddb.Grid;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a snapshot written by {@link SnapshotWriter}.
+ * <p>
+ * The file is memory-mapped; opening it only decodes the string and Author
+ * dictionaries. Games and Grids are decoded when they are accessed, so a
+ * large catalog is available right away. Snapshots must be smaller than
+ * 2 GiB. Instances are safe to use from several threads.
+ *
+ * @author mpaterakis
+ */
+public class SnapshotReader {
+
+    /*
+    * Fields
+     */
+    private final MappedByteBuffer buffer;
+    private final String[] strings;
+    private final Author[] authors;
+    private final int gamesPosition;
+    private final int gridsPosition;
+    private final int gameCount;
+    private final int gridCount;
+    private volatile Map<String, Integer> gameIndexes = null;
+
+    /**
+     * Open a snapshot.
+     *
+     * @param path The snapshot's file
+     * @throws IOException If the file cannot be read or is not a snapshot
+     */
+    public SnapshotReader(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > SnapshotFormat.MAX_SIZE) {
+                throw new IOException("Snapshot too large to map: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        int size = buffer.capacity();
+        byte[] magic = new byte[SnapshotFormat.MAGIC.length];
+        ByteBuffer reader = buffer.duplicate();
+        if (size < SnapshotFormat.MAGIC.length + 1 + SnapshotFormat.FOOTER_SIZE) {
+            throw new IOException("Not an SGDB snapshot: " + path);
+        }
+        reader.get(magic);
+        byte version = reader.get();
+        if (!Arrays.equals(magic, SnapshotFormat.MAGIC)) {
+            throw new IOException("Not an SGDB snapshot: " + path);
+        }
+        if (version != SnapshotFormat.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ": " + path);
+        }
+
+        reader.position(size - SnapshotFormat.FOOTER_SIZE);
+        int stringsPosition = (int) reader.getLong();
+        int authorsPosition = (int) reader.getLong();
+        gamesPosition = (int) reader.getLong();
+        gridsPosition = (int) reader.getLong();
+        gameCount = reader.getInt();
+        gridCount = reader.getInt();
+        reader.get(magic);
+        if (!Arrays.equals(magic, SnapshotFormat.MAGIC)) {
+            throw new IOException("Truncated SGDB snapshot: " + path);
+        }
+
+        reader.position(stringsPosition);
+        strings = new String[SnapshotFormat.readVarInt(reader)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = SnapshotFormat.readString(reader);
+        }
+
+        reader.position(authorsPosition);
+        authors = new Author[SnapshotFormat.readVarInt(reader) + 1];
+        for (int i = 1; i < authors.length; i++) {
+            authors[i] = Author.intern(new Author(strings[SnapshotFormat.readVarInt(reader)],
+                    strings[SnapshotFormat.readVarInt(reader)], strings[SnapshotFormat.readVarInt(reader)]));
+        }
+    }
+
+    /**
+     * Get the amount of Games in the snapshot.
+     *
+     * @return The amount of Games
+     */
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Get the amount of Grids in the snapshot.
+     *
+     * @return The amount of Grids
+     */
+    public int getGridCount() {
+        return gridCount;
+    }
+
+    /**
+     * Decode a Game.
+     *
+     * @param index The Game's index, between 0 and getGameCount() - 1
+     * @return The Game
+     */
+    public Game getGame(int index) {
+        ByteBuffer reader = gameRecord(index);
+        String id = String.valueOf(SnapshotFormat.readVarLong(reader));
+        String name = SnapshotFormat.readString(reader);
+        int typeCount = SnapshotFormat.readVarInt(reader);
+        ArrayList<String> types = new ArrayList<>(typeCount);
+        for (int i = 0; i < typeCount; i++) {
+            types.add(strings[SnapshotFormat.readVarInt(reader)]);
+        }
+        return new Game(id, name, types);
+    }
+
+    /**
+     * Decode the Grids of a Game.
+     *
+     * @param index The Game's index, between 0 and getGameCount() - 1
+     * @return The Game's Grids
+     */
+    public List<Grid> getGrids(int index) {
+        ByteBuffer reader = gameRecord(index);
+        SnapshotFormat.readVarLong(reader);
+        int nameLength = SnapshotFormat.readVarInt(reader);
+        reader.position(reader.position() + nameLength);
+        int typeCount = SnapshotFormat.readVarInt(reader);
+        for (int i = 0; i < typeCount; i++) {
+            SnapshotFormat.readVarInt(reader);
+        }
+        int first = SnapshotFormat.readVarInt(reader);
+        int count = SnapshotFormat.readVarInt(reader);
+
+        List<Grid> grids = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            grids.add(getGrid(i));
+        }
+        return grids;
+    }
+
+    /**
+     * Decode a Grid.
+     *
+     * @param index The Grid's index, between 0 and getGridCount() - 1
+     * @return The Grid
+     */
+    public Grid getGrid(int index) {
+        if (index < 0 || index >= gridCount) {
+            throw new IndexOutOfBoundsException("Grid " + index + " of " + gridCount);
+        }
+        ByteBuffer reader = buffer.duplicate();
+        reader.position((int) buffer.getLong(gridsPosition + 8 * index));
+
+        return GridRecords.read(reader, i -> strings[i], i -> authors[i]);
+    }
+
+    /**
+     * Find the index of a Game by its GameId. The first call builds an index
+     * of all GameIds.
+     *
+     * @param gameId The GameId
+     * @return The Game's index, or -1 if it is not in the snapshot
+     */
+    public int indexOf(String gameId) {
+        Map<String, Integer> indexes = gameIndexes;
+        if (indexes == null) {
+            indexes = new HashMap<>(gameCount * 4 / 3 + 1);
+            for (int i = 0; i < gameCount; i++) {
+                indexes.put(String.valueOf(SnapshotFormat.readVarLong(gameRecord(i))), i);
+            }
+            gameIndexes = indexes;
+        }
+        return indexes.getOrDefault(gameId, -1);
+    }
+
+    /**
+     * Get a reader positioned at a Game's record.
+     *
+     * @param index The Game's index
+     * @return The reader
+     */
+    private ByteBuffer gameRecord(int index) {
+        if (index < 0 || index >= gameCount) {
+            throw new IndexOutOfBoundsException("Game " + index + " of " + gameCount);
+        }
+        ByteBuffer reader = buffer.duplicate();
+        reader.position((int) buffer.getLong(gamesPosition + 8 * index));
+        return reader;
+    }
+}
@@ -0,0 +1,252 @@
+package com.steamgriddb.Snapshot;
+
+import com.steamgriddb.Author;
+import com.steamgriddb.Game;
+import com.steamgriddb.Grid;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes Games and their Grids to a compact binary snapshot, to be read back
+ * lazily by {@link SnapshotReader}.
+ * <p>
+ * Tags, game types, Authors and URL prefixes are dictionary encoded, styles
+ * are stored as a single byte and ids and counts as variable length numbers.
+ * A game record holds the GameId (varint), the name, the type string ids and
+ * the index and amount of its grids. Grid records are laid out as described
+ * in GridRecords.
+ * <p>
+ * Snapshots are memory-mapped as a whole, so they are limited to 2 GiB. The
+ * writer fails as soon as a Game would take the snapshot over the limit,
+ * rather than once the snapshot is read.
+ *
+ * @author mpaterakis
+ */
+public class SnapshotWriter implements Closeable {
+
+    /*
+    * Fields
+     */
+    private final CountingOutputStream counter;
+    private final DataOutputStream out;
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final Map<Author, Integer> authorIds = new HashMap<>();
+    private final List<int[]> authors = new ArrayList<>();
+    private long[] gameOffsets = new long[1024];
+    private long[] gridOffsets = new long[1024];
+    private int gameCount = 0;
+    private int gridCount = 0;
+    private long tailSize = 2 * 5 + SnapshotFormat.FOOTER_SIZE;
+
+    /**
+     * Constructor for SnapshotWriter. An existing file is replaced.
+     *
+     * @param path The snapshot's file
+     * @throws IOException If the file cannot be opened
+     */
+    public SnapshotWriter(Path path) throws IOException {
+        counter = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024));
+        out = new DataOutputStream(counter);
+        out.write(SnapshotFormat.MAGIC);
+        out.writeByte(SnapshotFormat.VERSION);
+    }
+
+    /**
+     * Write a Game and its Grids. Games without a GameId, e.g. the result of
+     * a failed lookup, are skipped.
+     *
+     * @param game The Game
+     * @param grids The Game's Grids
+     * @return True if the Game was written, false if it was skipped
+     * @throws IOException If the snapshot cannot be written or would exceed 2 GiB
+     */
+    public boolean write(Game game, List<Grid> grids) throws IOException {
+        long gameId;
+        try {
+            gameId = Long.parseLong(game.getId());
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+        if (gameId < 0) {
+            return false;
+        }
+
+        if (gameCount == gameOffsets.length) {
+            gameOffsets = Arrays.copyOf(gameOffsets, gameCount * 2);
+        }
+        gameOffsets[gameCount++] = counter.count;
+        tailSize += 8;
+
+        SnapshotFormat.writeVarLong(out, gameId);
+        SnapshotFormat.writeString(out, game.getName());
+        SnapshotFormat.writeVarLong(out, game.getTypes().size());
+        for (String type : game.getTypes()) {
+            SnapshotFormat.writeVarLong(out, stringId(type));
+        }
+        SnapshotFormat.writeVarLong(out, gridCount);
+        SnapshotFormat.writeVarLong(out, grids.size());
+
+        for (Grid grid : grids) {
+            writeGrid(grid);
+        }
+        checkSize();
+        return true;
+    }
+
+    /**
+     * Get the amount of Games written so far.
+     *
+     * @return The amount of Games
+     */
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Write the dictionaries, offsets and footer, and close the file.
+     *
+     * @throws IOException If the snapshot cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (counter.count + tailSize > SnapshotFormat.MAX_SIZE) {
+            out.close();
+            checkSize();
+        }
+
+        long stringsPosition = counter.count;
+        SnapshotFormat.writeVarLong(out, strings.size());
+        for (String string : strings) {
+            SnapshotFormat.writeString(out, string);
+        }
+
+        long authorsPosition = counter.count;
+        SnapshotFormat.writeVarLong(out, authors.size());
+        for (int[] author : authors) {
+            for (int field : author) {
+                SnapshotFormat.writeVarLong(out, field);
+            }
+        }
+
+        long gamesPosition = counter.count;
+        for (int i = 0; i < gameCount; i++) {
+            out.writeLong(gameOffsets[i]);
+        }
+        long gridsPosition = gamesPosition + 8L * gameCount;
+        for (int i = 0; i < gridCount; i++) {
+            out.writeLong(gridOffsets[i]);
+        }
+
+        out.writeLong(stringsPosition);
+        out.writeLong(authorsPosition);
+        out.writeLong(gamesPosition);
+        out.writeLong(gridsPosition);
+        out.writeInt(gameCount);
+        out.writeInt(gridCount);
+        out.write(SnapshotFormat.MAGIC);
+        out.close();
+    }
+
+    /**
+     * Write a Grid record.
+     *
+     * @param grid The Grid
+     * @throws IOException If the snapshot cannot be written
+     */
+    private void writeGrid(Grid grid) throws IOException {
+        if (gridCount == gridOffsets.length) {
+            gridOffsets = Arrays.copyOf(gridOffsets, gridCount * 2);
+        }
+        gridOffsets[gridCount++] = counter.count;
+        tailSize += 8;
+
+        GridRecords.write(out, grid, this::stringId, this::authorId);
+    }
+
+    /**
+     * Get the dictionary id of a string, adding it if needed.
+     *
+     * @param string The string
+     * @return The string's id
+     */
+    private int stringId(String string) {
+        Integer id = stringIds.get(string);
+        if (id == null) {
+            id = strings.size();
+            strings.add(string);
+            stringIds.put(string, id);
+            tailSize += 5 + string.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return id;
+    }
+
+    /**
+     * Get the dictionary id of an Author, adding it if needed. Id 0 stands
+     * for no Author.
+     *
+     * @param author The Author (May be null)
+     * @return The Author's id
+     */
+    private int authorId(Author author) {
+        if (author == null) {
+            return 0;
+        }
+        Integer id = authorIds.get(author);
+        if (id == null) {
+            authors.add(new int[]{stringId(author.getName()), stringId(author.getSteam64()), stringId(author.getAvatar())});
+            tailSize += 3 * 5;
+            id = authors.size();
+            authorIds.put(author, id);
+        }
+        return id;
+    }
+
+    /**
+     * Check that the records written so far and an upper bound of the
+     * dictionaries, offsets and footer still fit in a snapshot.
+     *
+     * @throws IOException If the snapshot would exceed 2 GiB
+     */
+    private void checkSize() throws IOException {
+        if (counter.count + tailSize > SnapshotFormat.MAX_SIZE) {
+            throw new IOException("Snapshot exceeds " + SnapshotFormat.MAX_SIZE + " bytes after " + gameCount + " games");
+        }
+    }
+
+    /**
+     * An OutputStream keeping track of the amount of bytes written.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package com.steamgriddb.Sync;
+
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Connection.SGDBEndpoints;
+import com.steamgriddb.Connection.SGDBScheduler;
+import com.steamgriddb.Enums.SGDBGridActions;
+import com.steamgriddb.Enums.SGDBPriorities;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A write-behind queue for Grid votes and deletes. Every action is sent in
+ * the background once the flush delay has passed since it was queued, with
+ * a bounded amount of requests in flight and Background priority.
+ * <p>
+ * Actions queued for the same Grid before they are sent collapse to the last
+ * one, so flipping a vote several times makes a single request. A delete is
+ * final: votes queued after it are dropped. Actions failing with a timeout,
+ * 429 or 5xx are retried with a growing delay.
+ * <p>
+ * A queue opened with a journal appends every queued and finished action to
+ * it, so actions not yet sent when the process stops are sent by the next
+ * queue opened with the same journal.
+ *
+ * @author mpaterakis
+ */
+public class GridWriteQueue implements AutoCloseable {
+
+    /*
+    * Fields
+     */
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sgdb-write-queue-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long MAX_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static volatile GridWriteQueue defaultQueue = null;
+
+    private final long flushDelayNanos;
+    private final int maxConcurrent;
+    private final ExecutorService executor;
+    private final Writer journal;
+    private final Map<String, SGDBGridActions> pending = new LinkedHashMap<>();
+    private final Map<String, SGDBGridActions> inFlight = new HashMap<>();
+    private final Map<String, Integer> attempts = new HashMap<>();
+    private final Map<String, Long> due = new HashMap<>();
+    private volatile Consumer<GridWriteResult> listener = null;
+    private ScheduledFuture<?> scheduled = null;
+    private long scheduledAt = 0;
+    private boolean closed = false;
+
+    /**
+     * Constructor for GridWriteQueue. Pending actions are kept in memory only.
+     *
+     * @param flushDelay The time an action waits for newer actions on its Grid before it is sent
+     * @param maxConcurrent The maximum amount of actions sent at once
+     */
+    public GridWriteQueue(Duration flushDelay, int maxConcurrent) {
+        this(flushDelay, maxConcurrent, null);
+    }
+
+    /**
+     * Constructor for GridWriteQueue.
+     *
+     * @param flushDelay The time an action waits for newer actions on its Grid before it is sent
+     * @param maxConcurrent The maximum amount of actions sent at once
+     * @param journal The writer queued and finished actions are appended to, or null
+     */
+    private GridWriteQueue(Duration flushDelay, int maxConcurrent, Writer journal) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Max concurrent actions must be at least 1");
+        }
+        this.flushDelayNanos = flushDelay.toNanos();
+        this.maxConcurrent = maxConcurrent;
+        this.journal = journal;
+        this.executor = Executors.newFixedThreadPool(maxConcurrent, runnable -> {
+            Thread thread = new Thread(runnable, "sgdb-write-queue");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open a queue with a journal. Actions left pending in the journal by an
+     * earlier queue are queued again, and the journal is compacted to them.
+     *
+     * @param journal The journal's file (Created if it does not exist)
+     * @param flushDelay The time an action waits for newer actions on its Grid before it is sent
+     * @param maxConcurrent The maximum amount of actions sent at once
+     * @return The queue
+     * @throws IOException If the journal cannot be read or written
+     */
+    public static GridWriteQueue open(Path journal, Duration flushDelay, int maxConcurrent) throws IOException {
+        Map<String, SGDBGridActions> recovered = new LinkedHashMap<>();
+        if (Files.exists(journal)) {
+            try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    replay(line, recovered);
+                }
+            }
+        }
+
+        Path temp = journal.resolveSibling(journal.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, SGDBGridActions> action : recovered.entrySet()) {
+                writer.write(line(action.getKey(), "action", action.getValue()));
+                writer.newLine();
+            }
+        }
+        Files.move(temp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        GridWriteQueue queue = new GridWriteQueue(flushDelay, maxConcurrent,
+                Files.newBufferedWriter(journal, StandardCharsets.UTF_8, StandardOpenOption.APPEND));
+        synchronized (queue) {
+            long dueAt = System.nanoTime() + queue.flushDelayNanos;
+            for (String gridId : recovered.keySet()) {
+                queue.due.put(gridId, dueAt);
+            }
+            queue.pending.putAll(recovered);
+            if (!recovered.isEmpty()) {
+                queue.schedule(dueAt);
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Get the queue used by Grid votes and deletes.
+     *
+     * @return The default queue, or null if none is set
+     */
+    public static GridWriteQueue getDefault() {
+        return defaultQueue;
+    }
+
+    /**
+     * Set the queue used by Grid votes and deletes. While it is set, they
+     * return immediately and are sent by the queue.
+     *
+     * @param queue The queue, or null to send them synchronously again
+     */
+    public static void setDefault(GridWriteQueue queue) {
+        defaultQueue = queue;
+    }
+
+    /**
+     * Set the listener receiving the outcome of every sent action. Actions
+     * that are retried are reported once, after their last attempt.
+     *
+     * @param listener The listener, or null for none
+     */
+    public void setListener(Consumer<GridWriteResult> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Queue an upvote.
+     *
+     * @param gridId The Grid's ID
+     */
+    public void upvote(String gridId) {
+        enqueue(gridId, SGDBGridActions.Upvote);
+    }
+
+    /**
+     * Queue a downvote.
+     *
+     * @param gridId The Grid's ID
+     */
+    public void downvote(String gridId) {
+        enqueue(gridId, SGDBGridActions.Downvote);
+    }
+
+    /**
+     * Queue a delete.
+     *
+     * @param gridId The Grid's ID
+     */
+    public void delete(String gridId) {
+        enqueue(gridId, SGDBGridActions.Delete);
+    }
+
+    /**
+     * Queue an action, replacing any action still pending for the same Grid.
+     * The action is sent once the flush delay has passed.
+     *
+     * @param gridId The Grid's ID
+     * @param action The action
+     */
+    public synchronized void enqueue(String gridId, SGDBGridActions action) {
+        if (closed) {
+            throw new IllegalStateException("The queue is closed");
+        }
+        SGDBGridActions queued = pending.get(gridId);
+        SGDBGridActions sending = inFlight.get(gridId);
+        SGDBGridActions current = queued != null ? queued : sending;
+        if (current == action || current == SGDBGridActions.Delete) {
+            return;
+        }
+
+        journal(line(gridId, "action", action));
+        attempts.remove(gridId);
+        if (action == sending) {
+            // Flipped back to the action being sent
+            pending.remove(gridId);
+            due.remove(gridId);
+            return;
+        }
+        long dueAt = System.nanoTime() + flushDelayNanos;
+        pending.put(gridId, action);
+        due.put(gridId, dueAt);
+        schedule(dueAt);
+    }
+
+    /**
+     * Send pending actions now instead of after the flush delay. Actions
+     * waiting to be retried keep waiting.
+     */
+    public synchronized void flush() {
+        long now = System.nanoTime();
+        for (String gridId : pending.keySet()) {
+            if (!attempts.containsKey(gridId)) {
+                due.put(gridId, now);
+            }
+        }
+        dispatch(false);
+    }
+
+    /**
+     * Get the amount of actions not sent yet, including those being sent.
+     *
+     * @return The amount of actions
+     */
+    public synchronized int getPendingCount() {
+        return pending.size() + inFlight.size();
+    }
+
+    /**
+     * Stop accepting actions, send every pending action once and wait for
+     * them. Actions that fail are not retried by this queue; with a journal,
+     * they are retried by the next queue opened with it. If the calling
+     * thread is interrupted, it stops waiting and keeps its interrupt status,
+     * and actions still being sent may be sent again by the next queue.
+     */
+    @Override
+    public void close() {
+        boolean interrupted = false;
+        synchronized (this) {
+            closed = true;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+                scheduled = null;
+            }
+            dispatch(true);
+            while (!inFlight.isEmpty() && !interrupted) {
+                try {
+                    wait();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        }
+        executor.shutdown();
+        if (!interrupted) {
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (journal != null) {
+            synchronized (journal) {
+                try {
+                    journal.close();
+                } catch (IOException ex) {
+                    Logger.getLogger(GridWriteQueue.class.getName()).log(Level.SEVERE, null, ex);
+                }
+            }
+        }
+        if (defaultQueue == this) {
+            defaultQueue = null;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Start sending the pending actions that are due, up to the concurrency
+     * limit, and schedule a flush for the next one.
+     *
+     * @param all True to send every pending action regardless of limits and delays
+     */
+    private void dispatch(boolean all) {
+        long now = System.nanoTime();
+        long next = Long.MAX_VALUE;
+        Iterator<Map.Entry<String, SGDBGridActions>> actions = pending.entrySet().iterator();
+        while (actions.hasNext() && (all || inFlight.size() < maxConcurrent)) {
+            Map.Entry<String, SGDBGridActions> action = actions.next();
+            String gridId = action.getKey();
+            if (inFlight.containsKey(gridId)) {
+                continue;
+            }
+            long dueAt = due.get(gridId);
+            if (!all && dueAt - now > 0) {
+                next = next == Long.MAX_VALUE || dueAt - next < 0 ? dueAt : next;
+                continue;
+            }
+
+            actions.remove();
+            due.remove(gridId);
+            inFlight.put(gridId, action.getValue());
+            SGDBGridActions sent = action.getValue();
+            executor.execute(SGDBScheduler.withPriority(SGDBPriorities.Background, () -> send(gridId, sent)));
+        }
+
+        if (!closed && next != Long.MAX_VALUE) {
+            schedule(next);
+        }
+    }
+
+    /**
+     * Send an action and handle its outcome.
+     *
+     * @param gridId The Grid's ID
+     * @param action The action
+     */
+    private void send(String gridId, SGDBGridActions action) {
+        JSONObject response;
+        try {
+            if (action == SGDBGridActions.Delete) {
+                response = SGDBConnectionManager.delete(SGDBEndpoints.gridPath(gridId));
+            } else {
+                response = SGDBConnectionManager.post(SGDBEndpoints.votePath(action == SGDBGridActions.Upvote, gridId));
+            }
+        } catch (RuntimeException ex) {
+            Logger.getLogger(GridWriteQueue.class.getName()).log(Level.SEVERE, null, ex);
+            response = new JSONObject("{ \"success\": \"false\", \"status\": 0}");
+        }
+
+        GridWriteResult result = complete(gridId, action, response);
+        Consumer<GridWriteResult> current = listener;
+        if (result != null && current != null) {
+            current.accept(result);
+        }
+    }
+
+    /**
+     * Record the outcome of an action, requeueing it if it is retried.
+     *
+     * @param gridId The Grid's ID
+     * @param action The action
+     * @param response The action's response
+     * @return The result to report, or null if the action is retried
+     */
+    private synchronized GridWriteResult complete(String gridId, SGDBGridActions action, JSONObject response) {
+        inFlight.remove(gridId);
+        int status = SGDBConnectionManager.getStatus(response);
+        boolean retryable = status == 0 || status == 429 || status >= 500;
+        int attempt = attempts.getOrDefault(gridId, 0) + 1;
+        GridWriteResult result = null;
+
+        if (retryable && !closed && attempt < MAX_ATTEMPTS && !pending.containsKey(gridId)) {
+            attempts.put(gridId, attempt);
+            long delay = Math.min(MAX_RETRY_DELAY_NANOS, TimeUnit.MILLISECONDS.toNanos(250L << attempt));
+            pending.put(gridId, action);
+            due.put(gridId, System.nanoTime() + delay);
+        } else {
+            if (!pending.containsKey(gridId)) {
+                attempts.remove(gridId);
+            }
+            if (!retryable || !closed) {
+                journal(line(gridId, "done", action));
+            }
+            result = new GridWriteResult(gridId, action, response);
+        }
+
+        dispatch(closed);
+        notifyAll();
+        return result;
+    }
+
+    /**
+     * Schedule a flush, unless one is scheduled earlier already.
+     *
+     * @param at The System.nanoTime() to flush at
+     */
+    private void schedule(long at) {
+        if (scheduled != null && scheduledAt - at <= 0) {
+            return;
+        }
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        scheduledAt = at;
+        scheduled = TIMER.schedule(() -> {
+            synchronized (this) {
+                scheduled = null;
+                if (!closed) {
+                    dispatch(false);
+                }
+            }
+        }, Math.max(0, at - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Append a line to the journal, if the queue has one.
+     *
+     * @param line The line
+     */
+    private void journal(String line) {
+        if (journal == null) {
+            return;
+        }
+        synchronized (journal) {
+            try {
+                journal.write(line);
+                journal.write('\n');
+                journal.flush();
+            } catch (IOException ex) {
+                Logger.getLogger(GridWriteQueue.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Apply a journal line to the actions pending in the journal. A queued
+     * action replaces the pending one, unless that is a delete, and a
+     * finished action removes the pending one if it is the same.
+     *
+     * @param line The line
+     * @param pending The pending actions by Grid ID
+     */
+    private static void replay(String line, Map<String, SGDBGridActions> pending) {
+        JSONObject json;
+        try {
+            json = new JSONObject(line);
+        } catch (JSONException ex) {
+            // Partially written last line
+            return;
+        }
+        String gridId = json.getString("id");
+        if (json.has("action")) {
+            SGDBGridActions action = SGDBGridActions.valueOf(json.getString("action"));
+            if (pending.get(gridId) != SGDBGridActions.Delete) {
+                pending.remove(gridId);
+                pending.put(gridId, action);
+            }
+        } else if (json.has("done")) {
+            pending.remove(gridId, SGDBGridActions.valueOf(json.getString("done")));
+        }
+    }
+
+    /**
+     * Build a journal line.
+     *
+     * @param gridId The Grid's ID
+     * @param key "action" for a queued action, "done" for a finished one
+     * @param action The action
+     * @return The line
+     */
+    private static String line(String gridId, String key, SGDBGridActions action) {
+        return new JSONObject().put("id", gridId).put(key, action.name()).toString();
+    }
+}
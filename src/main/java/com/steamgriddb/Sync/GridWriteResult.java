@@ -0,0 +1,78 @@
+package com.steamgriddb.Sync;
+
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Enums.SGDBGridActions;
+import org.json.JSONObject;
+
+/**
+ * The outcome of a queued Grid action.
+ *
+ * @author mpaterakis
+ */
+public class GridWriteResult {
+
+    /*
+    * Fields
+     */
+    private final String gridId;
+    private final SGDBGridActions action;
+    private final JSONObject response;
+
+    /**
+     * Constructor for GridWriteResult.
+     *
+     * @param gridId The Grid's ID
+     * @param action The action that was sent
+     * @param response The response of the last attempt
+     */
+    public GridWriteResult(String gridId, SGDBGridActions action, JSONObject response) {
+        this.gridId = gridId;
+        this.action = action;
+        this.response = response;
+    }
+
+    /**
+     * Get the Grid's ID.
+     *
+     * @return The Grid's ID
+     */
+    public String getGridId() {
+        return gridId;
+    }
+
+    /**
+     * Get the action that was sent.
+     *
+     * @return The action
+     */
+    public SGDBGridActions getAction() {
+        return action;
+    }
+
+    /**
+     * Check whether the action succeeded.
+     *
+     * @return True if the action succeeded, false if otherwise
+     */
+    public boolean isSuccessful() {
+        return response.optBoolean("success", false);
+    }
+
+    /**
+     * Get the HTTP status code of the last attempt.
+     *
+     * @return The status code (0 if no response was received)
+     */
+    public int getStatus() {
+        return SGDBConnectionManager.getStatus(response);
+    }
+
+    /**
+     * Get the response of the last attempt.
+     *
+     * @return The response
+     */
+    public JSONObject getResponse() {
+        return response;
+    }
+}
@@ -0,0 +1,375 @@
+package com.steamgriddb.Sync;
+
+import com.steamgriddb.Game;
+import com.steamgriddb.Grid;
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Connection.SGDBDeadline;
+import com.steamgriddb.Connection.SGDBScheduler;
+import com.steamgriddb.Connection.SGDBEndpoints;
+import com.steamgriddb.Enums.SGDBIdTypes;
+import com.steamgriddb.Enums.SGDBPriorities;
+import com.steamgriddb.Enums.SGDBStyles;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Syncs the Games and Grids of a large list of ids with bounded concurrency,
+ * recording every finished id in a journal so an interrupted sync resumes
+ * where it stopped.
+ * <p>
+ * The journal holds one JSON line per finished id with its Game and Grid
+ * data, so it is the sync's result as well as its checkpoint. Ids SGDB does
+ * not know are journaled as not found. Ids that failed because of connection
+ * problems, rate limits or server errors are retried, and if they still fail
+ * they are left out of the journal so the next run picks them up again.
+ * <p>
+ * A deadline set with SGDBDeadline by the thread calling {@link #run(Iterator)}
+ * bounds the whole run, retries included. Ids not finished by the deadline
+ * are left for the next run. Requests are made with Background priority, so
+ * when SGDBScheduler is enabled interactive requests are not held up by a
+ * running sync.
+ *
+ * @author mpaterakis
+ */
+public class LibrarySync {
+
+    /*
+    * Fields
+     */
+    private final Path journal;
+    private final SGDBIdTypes idType;
+    private int parallelism = 8;
+    private int maxAttempts = 3;
+    private int styleMask = 0;
+    private Consumer<SyncResult> listener = null;
+
+    /**
+     * Constructor for LibrarySync.
+     *
+     * @param journal The journal's file (Created if it does not exist)
+     * @param idType The type of the synced ids
+     */
+    public LibrarySync(Path journal, SGDBIdTypes idType) {
+        this.journal = journal;
+        this.idType = idType;
+    }
+
+    /**
+     * Set the maximum amount of ids synced concurrently.
+     *
+     * @param parallelism The maximum amount of concurrent ids
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Set how many times an id is tried before it is left for the next run.
+     *
+     * @param maxAttempts The maximum amount of attempts
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Only sync Grids of the given styles.
+     *
+     * @param styles The styles (None for all styles)
+     */
+    public void setStyles(SGDBStyles... styles) {
+        this.styleMask = SGDBEndpoints.styleMask(styles);
+    }
+
+    /**
+     * Set a listener receiving every id synced by this run, as soon as it is
+     * journaled.
+     *
+     * @param listener The listener (Called concurrently)
+     */
+    public void setListener(Consumer<SyncResult> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sync every id not yet in the journal. The ids are read lazily, so
+     * pending ids are never held in memory, but the ids of the journal and
+     * of this run are remembered to skip duplicates.
+     *
+     * @param ids The ids to sync
+     * @return A Report of this run
+     * @throws IOException If the journal cannot be read or written
+     */
+    public Report run(Iterator<String> ids) throws IOException {
+        Set<String> finished = new HashSet<>();
+        readJournal(journal, line -> finished.add(line.getString("id")));
+        repairJournal();
+
+        Report report = new Report();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        Semaphore slots = new Semaphore(parallelism * 2);
+
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8)) {
+            while (ids.hasNext() && !SGDBDeadline.isExpired()) {
+                String id = ids.next();
+                if (!finished.add(id)) {
+                    report.skipped.incrementAndGet();
+                    continue;
+                }
+                slots.acquire();
+                executor.execute(SGDBDeadline.propagate(SGDBScheduler.withPriority(SGDBPriorities.Background, () -> {
+                    try {
+                        sync(id, writer, report);
+                    } finally {
+                        slots.release();
+                    }
+                })));
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            synchronized (writer) {
+                writer.flush();
+                channel.force(false);
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        return report;
+    }
+
+    /**
+     * Read the results of a journal.
+     *
+     * @param journal The journal's file
+     * @param consumer Receives every journaled result
+     * @throws IOException If the journal cannot be read
+     */
+    public static void readResults(Path journal, Consumer<SyncResult> consumer) throws IOException {
+        readJournal(journal, line -> consumer.accept(toResult(line)));
+    }
+
+    /**
+     * Sync a single id and journal it.
+     *
+     * @param id The id
+     * @param writer The journal's writer
+     * @param report The run's Report
+     */
+    private void sync(String id, Writer writer, Report report) {
+        for (int attempt = 1; attempt <= maxAttempts && !SGDBDeadline.isExpired(); attempt++) {
+            JSONObject game = Game.getGameJSONById(id, idType);
+            int status = SGDBConnectionManager.getStatus(game);
+            JSONObject line = new JSONObject().put("id", id);
+
+            if (status == 404) {
+                journal(writer, line.put("found", false), report.notFound);
+                return;
+            }
+            if (status == 200) {
+                String gameId = String.valueOf(game.getJSONObject("data").getInt("id"));
+                JSONObject grids = SGDBConnectionManager.getJSON(SGDBEndpoints.gridsPath(SGDBIdTypes.GameId, gameId, styleMask));
+                int gridsStatus = SGDBConnectionManager.getStatus(grids);
+                if (gridsStatus == 200 || gridsStatus == 404) {
+                    line.put("found", true)
+                            .put("game", game.getJSONObject("data"))
+                            .put("grids", gridsStatus == 200 ? grids.getJSONArray("data") : new JSONArray());
+                    journal(writer, line, report.synced);
+                    return;
+                }
+            }
+
+            backOff(attempt);
+        }
+        report.failed.incrementAndGet();
+    }
+
+    /**
+     * Append a line to the journal and pass its result to the listener.
+     *
+     * @param writer The journal's writer
+     * @param line The line
+     * @param counter The Report counter to increment
+     */
+    private void journal(Writer writer, JSONObject line, AtomicInteger counter) {
+        try {
+            synchronized (writer) {
+                writer.write(line.toString());
+                writer.write('\n');
+                writer.flush();
+            }
+            counter.incrementAndGet();
+        } catch (IOException ex) {
+            Logger.getLogger(LibrarySync.class.getName()).log(Level.SEVERE, null, ex);
+            return;
+        }
+        if (listener != null) {
+            listener.accept(toResult(line));
+        }
+    }
+
+    /**
+     * Wait before retrying a failed id.
+     *
+     * @param attempt The attempt that failed
+     */
+    private void backOff(int attempt) {
+        if (attempt >= maxAttempts) {
+            return;
+        }
+        long delay = Math.min(10_000L, 250L << attempt);
+        Duration remaining = SGDBDeadline.remaining();
+        if (remaining != null) {
+            delay = Math.min(delay, Math.max(0L, remaining.toMillis()));
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Cut off a partially written last line, left by a crash, so appended
+     * lines start on a line of their own.
+     *
+     * @throws IOException If the journal cannot be read or written
+     */
+    private void repairJournal() throws IOException {
+        if (!Files.exists(journal)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = channel.size();
+            ByteBuffer last = ByteBuffer.allocate(1);
+            while (end > 0) {
+                last.clear();
+                channel.read(last, end - 1);
+                if (last.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < channel.size()) {
+                channel.truncate(end);
+            }
+        }
+    }
+
+    /**
+     * Read every complete line of a journal.
+     *
+     * @param journal The journal's file
+     * @param consumer Receives every line
+     * @throws IOException If the journal cannot be read
+     */
+    private static void readJournal(Path journal, Consumer<JSONObject> consumer) throws IOException {
+        if (!Files.exists(journal)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    consumer.accept(new JSONObject(line));
+                } catch (JSONException ex) {
+                    // A partially written last line; its id is synced again
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the result of a journal line.
+     *
+     * @param line The journal line
+     * @return The line's result
+     */
+    private static SyncResult toResult(JSONObject line) {
+        if (!line.getBoolean("found")) {
+            return new SyncResult(line.getString("id"), null, List.of());
+        }
+        Game game = Game.getGameFromJSON(new JSONObject().put("success", true).put("data", line.getJSONObject("game")));
+        List<Grid> grids = Grid.getGridsFromJSON(new JSONObject().put("success", true).put("data", line.getJSONArray("grids")));
+        return new SyncResult(line.getString("id"), game, grids);
+    }
+
+    /**
+     * The outcome of a sync run.
+     */
+    public static class Report {
+
+        private final AtomicInteger synced = new AtomicInteger();
+        private final AtomicInteger notFound = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        /**
+         * Get the amount of ids synced by this run.
+         *
+         * @return The amount of synced ids
+         */
+        public int getSynced() {
+            return synced.get();
+        }
+
+        /**
+         * Get the amount of ids SGDB does not know.
+         *
+         * @return The amount of unknown ids
+         */
+        public int getNotFound() {
+            return notFound.get();
+        }
+
+        /**
+         * Get the amount of ids already in the journal.
+         *
+         * @return The amount of skipped ids
+         */
+        public int getSkipped() {
+            return skipped.get();
+        }
+
+        /**
+         * Get the amount of ids that failed and are left for the next run.
+         *
+         * @return The amount of failed ids
+         */
+        public int getFailed() {
+            return failed.get();
+        }
+
+        @Override
+        public String toString() {
+            return "synced=" + getSynced() + " notFound=" + getNotFound() + " skipped=" + getSkipped() + " failed=" + getFailed();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.steamgriddb.Sync;
+
+import com.steamgriddb.Game;
+import com.steamgriddb.Grid;
+import java.util.List;
+
+/**
+ * The synced data of a single id of a library sync.
+ *
+ * @author mpaterakis
+ */
+public class SyncResult {
+
+    /*
+    * Fields
+     */
+    private final String id;
+    private final Game game;
+    private final List<Grid> grids;
+
+    /**
+     * Constructor for SyncResult.
+     *
+     * @param id The synced id
+     * @param game The id's Game (Null if SGDB does not know the id)
+     * @param grids The Game's Grids
+     */
+    public SyncResult(String id, Game game, List<Grid> grids) {
+        this.id = id;
+        this.game = game;
+        this.grids = grids;
+    }
+
+    /**
+     * Get the synced id.
+     *
+     * @return The synced id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Check whether SGDB knows the synced id.
+     *
+     * @return True if the id resolved to a Game
+     */
+    public boolean isFound() {
+        return game != null;
+    }
+
+    /**
+     * Get the id's Game.
+     *
+     * @return The Game, or null if SGDB does not know the id
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Get the Game's Grids.
+     *
+     * @return The Grids (Empty if the id was not found)
+     */
+    public List<Grid> getGrids() {
+        return grids;
+    }
+}
@@ -0,0 +1,106 @@
+package com.steamgriddb.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.steamgriddb.Testing.SGDBFakeServer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for SGDBCache.
+ *
+ * @author mpaterakis
+ */
+public class SGDBCacheTest {
+
+    private SGDBFakeServer server;
+
+    @BeforeEach
+    public void start() throws Exception {
+        server = new SGDBFakeServer(0, 4);
+        server.start();
+        SGDBConnectionManager.initialize(server.getApiUri(), "test");
+    }
+
+    @AfterEach
+    public void stop() {
+        SGDBConnectionManager.stopRecording();
+        SGDBConnectionManager.stopReplay();
+        SGDBCache.disable();
+        server.stop();
+    }
+
+    @Test
+    public void callersGetTheirOwnCopies() {
+        SGDBCache.enable(Duration.ofMinutes(1), Duration.ofMinutes(1), 16);
+        JSONObject first = SGDBConnectionManager.getJSON("games/id/42");
+        String name = first.getJSONObject("data").getString("name");
+        first.getJSONObject("data").put("name", "Modified");
+
+        JSONObject second = SGDBConnectionManager.getJSON("games/id/42");
+        JSONObject third = SGDBConnectionManager.getJSON("games/id/42");
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(name, second.getJSONObject("data").getString("name"));
+        assertNotSame(second, third);
+    }
+
+    @Test
+    public void expiredResponsesAreRevalidated() {
+        SGDBCache.enable(Duration.ZERO, Duration.ZERO, 16);
+        JSONObject first = SGDBConnectionManager.getJSON("games/id/42");
+        JSONObject second = SGDBConnectionManager.getJSON("games/id/42");
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, SGDBCache.getRevalidationCount());
+        assertEquals(first.toString(), second.toString());
+    }
+
+    @Test
+    public void notModifiedWithoutCachedResponseIsRequestedAgain() {
+        SGDBCache.enable(Duration.ZERO, Duration.ZERO, 16);
+        JSONObject first = SGDBConnectionManager.getJSON("games/id/42");
+        server.setLatency(200, 200);
+
+        // The validators are added before the cached response is dropped
+        CompletableFuture<JSONObject> revalidation = SGDBConnectionManager.getJSONAsync("games/id/42");
+        SGDBCache.invalidate("games/id/42");
+        JSONObject second = revalidation.join();
+
+        assertEquals(3, server.getRequestCount());
+        assertTrue(second.getBoolean("success"));
+        assertEquals(first.toString(), second.toString());
+    }
+
+    @Test
+    public void replayedNotModifiedWithoutCacheIsNeverReturned() throws Exception {
+        Path recording = Files.createTempFile("sgdb", ".rec");
+        try {
+            SGDBCache.enable(Duration.ZERO, Duration.ZERO, 16);
+            SGDBConnectionManager.startRecording(recording);
+            SGDBConnectionManager.getJSON("games/id/42");
+            SGDBConnectionManager.getJSON("games/id/42");
+            SGDBConnectionManager.stopRecording();
+            SGDBCache.disable();
+
+            SGDBConnectionManager.startReplay(recording);
+            for (int i = 0; i < 4; i++) {
+                JSONObject json = SGDBConnectionManager.getJSON("games/id/42");
+                assertEquals(200, SGDBConnectionManager.getStatus(json));
+                assertTrue(json.has("data"));
+                assertEquals(200, SGDBConnectionManager.getStatus(SGDBConnectionManager.getJSONAsync("games/id/42").join()));
+            }
+        } finally {
+            SGDBConnectionManager.stopReplay();
+            Files.delete(recording);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.steamgriddb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Enums.SGDBIdTypes;
+import com.steamgriddb.Testing.SGDBFakeServer;
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for GameHandle.
+ *
+ * @author mpaterakis
+ */
+public class GameHandleTest {
+
+    private SGDBFakeServer server;
+
+    @BeforeEach
+    public void start() throws Exception {
+        server = new SGDBFakeServer(0, 4);
+        server.start();
+    }
+
+    @AfterEach
+    public void stop() {
+        server.stop();
+    }
+
+    @Test
+    public void requestsFailingBeforeTheyAreSentFreeTheirSlots() throws Exception {
+        // Not a valid URI, so every request fails before it is sent
+        SGDBConnectionManager.initialize("http://not a host/", "test");
+        List<GameHandle> handles = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            handles.add(new GameHandle(String.valueOf(1000 + i), SGDBIdTypes.GameId));
+        }
+        GameHandle.hydrateAll(handles).get(10, TimeUnit.SECONDS);
+        for (GameHandle handle : handles) {
+            assertNull(handle.hydrate().get(10, TimeUnit.SECONDS));
+        }
+
+        SGDBConnectionManager.initialize(server.getApiUri(), "test");
+        for (GameHandle handle : handles) {
+            Game game = handle.hydrate().get(10, TimeUnit.SECONDS);
+            assertNotNull(game);
+            assertEquals(handle.getId(), game.getId());
+        }
+    }
+
+    @Test
+    public void unreadableResponsesAreRetried() throws Exception {
+        HttpServer broken = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        broken.createContext("/", exchange -> {
+            byte[] body = "{\"success\": true, \"data\": 42}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        broken.start();
+        try {
+            SGDBConnectionManager.initialize("http://localhost:" + broken.getAddress().getPort() + "/", "test");
+            GameHandle handle = new GameHandle("2000", SGDBIdTypes.GameId);
+            assertNull(handle.hydrate().get(10, TimeUnit.SECONDS));
+
+            SGDBConnectionManager.initialize(server.getApiUri(), "test");
+            assertNotNull(handle.hydrate().get(10, TimeUnit.SECONDS));
+        } finally {
+            broken.stop(0);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.steamgriddb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Enums.SGDBIdTypes;
+import com.steamgriddb.Enums.SGDBStyles;
+import com.steamgriddb.Testing.SGDBFakeServer;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for GridSelector.
+ *
+ * @author mpaterakis
+ */
+public class GridSelectorTest {
+
+    private static final SGDBStyles[] PREFERRED = {SGDBStyles.Material, SGDBStyles.Blurred};
+
+    private SGDBFakeServer server;
+
+    @BeforeEach
+    public void start() throws Exception {
+        server = new SGDBFakeServer(0, 4);
+        server.start();
+        SGDBConnectionManager.initialize(server.getApiUri(), "test");
+    }
+
+    @AfterEach
+    public void stop() {
+        server.stop();
+    }
+
+    @Test
+    public void failedGamesAreReportedAsFailed() {
+        List<String> ids = Arrays.asList("1", "2", "3");
+        server.setErrorRate(1);
+        Map<String, Grid> best = GridSelector.getBestGrids(ids, SGDBIdTypes.GameId, PREFERRED);
+
+        assertEquals(ids, Arrays.asList(best.keySet().toArray()));
+        for (String id : ids) {
+            assertNull(best.get(id));
+        }
+        assertThrows(UncheckedIOException.class, () -> GridSelector.getBestGrid("1", SGDBIdTypes.GameId, PREFERRED, 0));
+
+        server.setErrorRate(0);
+        best = GridSelector.getBestGrids(ids, SGDBIdTypes.GameId, PREFERRED);
+        for (String id : ids) {
+            assertNotNull(best.get(id));
+        }
+    }
+
+    @Test
+    public void gamesWithoutGridsAreLeftOut() {
+        server.setGridsPerGame(0);
+        Map<String, Grid> best = GridSelector.getBestGrids(Arrays.asList("1", "2"), SGDBIdTypes.GameId, PREFERRED);
+
+        assertTrue(best.isEmpty());
+    }
+}
@@ -0,0 +1,136 @@
+package com.steamgriddb.Index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.steamgriddb.Author;
+import com.steamgriddb.Enums.SGDBStyles;
+import com.steamgriddb.Grid;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for GridCatalog.
+ *
+ * @author mpaterakis
+ */
+public class GridCatalogTest {
+
+    private static final Author ALICE = new Author("alice", "1", "");
+    private static final Author BOB = new Author("bob", "2", "");
+
+    @Test
+    public void queryIntersectsConditionsByDescendingScore() {
+        GridCatalog catalog = new GridCatalog();
+        catalog.addAll("10", Arrays.asList(
+                grid("1", 3, SGDBStyles.Alternate, ALICE, "Humor"),
+                grid("2", 9, SGDBStyles.Alternate, ALICE, "Humor"),
+                grid("3", 6, SGDBStyles.Blurred, ALICE, "Humor"),
+                grid("4", 7, SGDBStyles.Alternate, BOB, "Humor")));
+        catalog.addAll("20", Arrays.asList(grid("5", 8, SGDBStyles.Alternate, ALICE, "Humor")));
+
+        List<Grid> result = catalog.query(new GridQuery()
+                .styles(SGDBStyles.Alternate).tag("Humor").author("1").game("10"));
+
+        assertEquals(Arrays.asList("2", "1"), ids(result));
+        assertEquals(Arrays.asList("2", "5", "4"), ids(catalog.top(new GridQuery().minScore(6.5), 3)));
+        assertTrue(catalog.query(new GridQuery().tag("Nsfw")).isEmpty());
+    }
+
+    @Test
+    public void removedAndReplacedGridsAreReindexed() {
+        GridCatalog catalog = new GridCatalog();
+        catalog.addAll(Arrays.asList(grid("1", 5, SGDBStyles.Alternate, ALICE), grid("2", 4, SGDBStyles.Alternate, ALICE)));
+        assertEquals(Arrays.asList("1", "2"), ids(catalog.query(new GridQuery())));
+
+        assertTrue(catalog.remove("1"));
+        assertFalse(catalog.remove("1"));
+        catalog.addAll(Arrays.asList(grid("2", 6, SGDBStyles.Blurred, BOB)));
+
+        assertNull(catalog.get("1"));
+        assertEquals(1, catalog.size());
+        assertEquals(Arrays.asList("2"), ids(catalog.query(new GridQuery().author("2"))));
+        assertTrue(catalog.query(new GridQuery().styles(SGDBStyles.Alternate)).isEmpty());
+    }
+
+    @Test
+    public void queriesNeverSeeRemovedGridsWhileWritersRun() throws Exception {
+        GridCatalog catalog = new GridCatalog();
+        List<Grid> stable = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            stable.add(grid("stable" + i, i % 10, SGDBStyles.Alternate, ALICE));
+        }
+        catalog.addAll(stable);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; running.get(); i++) {
+                    catalog.addAll(Collections.singletonList(grid("churn" + i, i % 10, SGDBStyles.Alternate, BOB)));
+                    catalog.remove("churn" + i);
+                }
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        List<Grid> result = catalog.query(new GridQuery());
+                        for (Grid grid : result) {
+                            assertNotNull(grid);
+                        }
+                        assertTrue(result.size() >= stable.size() && result.size() <= stable.size() + 1);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> reader : readers) {
+                reader.get(1, TimeUnit.MINUTES);
+            }
+            running.set(false);
+            writer.get(1, TimeUnit.MINUTES);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Create a Grid.
+     *
+     * @param id The Grid's ID
+     * @param score The Grid's score
+     * @param style The Grid's style
+     * @param author The Grid's Author
+     * @param tags The Grid's tags
+     * @return The Grid
+     */
+    private static Grid grid(String id, double score, SGDBStyles style, Author author, String... tags) {
+        return new Grid(id, score, style, "https://example.com/" + id + ".png", "", Arrays.asList(tags), author);
+    }
+
+    /**
+     * Get the IDs of Grids.
+     *
+     * @param grids The Grids
+     * @return The IDs, in order
+     */
+    private static List<String> ids(List<Grid> grids) {
+        List<String> ids = new ArrayList<>();
+        for (Grid grid : grids) {
+            ids.add(grid.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,117 @@
+package com.steamgriddb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Testing.SGDBFakeServer;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for SearchSession.
+ *
+ * @author mpaterakis
+ */
+public class SearchSessionTest {
+
+    private SGDBFakeServer server;
+    private final List<List<Game>> delivered = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void start() throws Exception {
+        server = new SGDBFakeServer(0, 4);
+        server.start();
+        SGDBConnectionManager.initialize(server.getApiUri(), "test");
+    }
+
+    @AfterEach
+    public void stop() {
+        server.stop();
+    }
+
+    @Test
+    public void failedResponsesAreNotRemembered() throws Exception {
+        try (SearchSession session = new SearchSession(Duration.ZERO, delivered::add)) {
+            server.setErrorRate(1);
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> session.update("portal").get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, failure.getCause());
+            assertTrue(delivered.isEmpty());
+
+            server.setErrorRate(0);
+            long requests = server.getRequestCount();
+            List<Game> games = session.update("portal").get(10, TimeUnit.SECONDS);
+            assertEquals(Search.AUTOCOMPLETE_LIMIT, games.size());
+            assertEquals(requests + 1, server.getRequestCount());
+        }
+    }
+
+    @Test
+    public void successfulResponsesAreRemembered() throws Exception {
+        try (SearchSession session = new SearchSession(Duration.ZERO, delivered::add)) {
+            List<Game> first = session.update("Half Life").get(10, TimeUnit.SECONDS);
+            long requests = server.getRequestCount();
+
+            List<Game> second = session.update("half   life").get(10, TimeUnit.SECONDS);
+            assertEquals(first, second);
+            assertEquals(requests, server.getRequestCount());
+            assertEquals(2, delivered.size());
+        }
+    }
+
+    @Test
+    public void supersededTermsAreCancelled() throws Exception {
+        try (SearchSession session = new SearchSession(Duration.ofMillis(200), delivered::add)) {
+            CompletableFuture<List<Game>> superseded = session.update("hal");
+            List<Game> games = session.update("halo").get(10, TimeUnit.SECONDS);
+
+            assertThrows(CancellationException.class, superseded::join);
+            assertEquals(1, delivered.size());
+            assertEquals(games, delivered.get(0));
+            assertEquals(1, server.getRequestCount());
+        }
+    }
+
+    @Test
+    public void olderResultsNeverReachTheListenerAfterNewerOnes() throws Exception {
+        AtomicReference<List<Game>> shown = new AtomicReference<>();
+        CountDownLatch slowDelivery = new CountDownLatch(1);
+        try (SearchSession session = new SearchSession(Duration.ZERO, games -> {
+            if (games.get(0).getName().startsWith("halo")) {
+                // A slow listener call for the older term
+                slowDelivery.countDown();
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            shown.set(games);
+        })) {
+            List<Game> portal = session.update("portal").get(10, TimeUnit.SECONDS);
+
+            CompletableFuture<List<Game>> halo = session.update("halo");
+            assertTrue(slowDelivery.await(10, TimeUnit.SECONDS));
+            // Answered from the remembered results while the older term is being delivered
+            session.update("portal").get(10, TimeUnit.SECONDS);
+            halo.handle((games, ex) -> null).get(10, TimeUnit.SECONDS);
+            Thread.sleep(400);
+
+            assertEquals(portal, shown.get());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.steamgriddb.Sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.steamgriddb.Connection.SGDBConnectionManager;
+import com.steamgriddb.Enums.SGDBGridActions;
+import com.steamgriddb.Testing.SGDBFakeServer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for GridWriteQueue.
+ *
+ * @author mpaterakis
+ */
+public class GridWriteQueueTest {
+
+    private SGDBFakeServer server;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    public void start() throws Exception {
+        server = new SGDBFakeServer(0, 4);
+        server.start();
+        SGDBConnectionManager.initialize(server.getApiUri(), "test");
+    }
+
+    @AfterEach
+    public void stop() {
+        server.stop();
+    }
+
+    @Test
+    public void flippedVotesCollapseToTheLastOne() {
+        GridWriteQueue queue = new GridWriteQueue(Duration.ofMinutes(1), 4);
+        Map<String, SGDBGridActions> sent = new ConcurrentHashMap<>();
+        queue.setListener(result -> sent.put(result.getGridId(), result.getAction()));
+
+        queue.upvote("1");
+        queue.downvote("1");
+        queue.upvote("1");
+        queue.downvote("1");
+        queue.delete("2");
+        queue.upvote("2");
+        queue.close();
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(SGDBGridActions.Downvote, sent.get("1"));
+        assertEquals(SGDBGridActions.Delete, sent.get("2"));
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    public void everyActionWaitsForItsOwnFlushDelay() throws Exception {
+        long delay = TimeUnit.MILLISECONDS.toNanos(400);
+        GridWriteQueue queue = new GridWriteQueue(Duration.ofNanos(delay), 4);
+        Map<String, Long> sentAt = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(2);
+        queue.setListener(result -> {
+            sentAt.put(result.getGridId(), System.nanoTime());
+            done.countDown();
+        });
+
+        long first = System.nanoTime();
+        queue.upvote("1");
+        Thread.sleep(250);
+        long second = System.nanoTime();
+        queue.upvote("2");
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(sentAt.get("1") - first >= delay);
+        assertTrue(sentAt.get("2") - second >= delay, "sent " + (sentAt.get("2") - second) / 1_000_000 + " ms after queueing");
+        queue.close();
+    }
+
+    @Test
+    public void journaledActionsAreSentByTheNextQueue() throws Exception {
+        Path journal = directory.resolve("writes.ndjson");
+        GridWriteQueue crashed = GridWriteQueue.open(journal, Duration.ofHours(1), 4);
+        crashed.upvote("1");
+        crashed.downvote("2");
+        crashed.delete("3");
+        assertEquals(0, server.getRequestCount());
+
+        GridWriteQueue next = GridWriteQueue.open(journal, Duration.ZERO, 4);
+        assertEquals(3, next.getPendingCount());
+        next.close();
+        assertEquals(3, server.getRequestCount());
+
+        GridWriteQueue last = GridWriteQueue.open(journal, Duration.ZERO, 4);
+        assertEquals(0, last.getPendingCount());
+        last.close();
+        assertTrue(Files.readAllLines(journal).isEmpty());
+    }
+
+    @Test
+    public void interruptedCloseKeepsTheInterruptStatus() {
+        server.setLatency(500, 500);
+        GridWriteQueue queue = new GridWriteQueue(Duration.ZERO, 4);
+        queue.upvote("1");
+
+        Thread.currentThread().interrupt();
+        queue.close();
+        assertTrue(Thread.interrupted());
+    }
+}
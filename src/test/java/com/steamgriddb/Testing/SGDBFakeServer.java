@@ -0,0 +1,338 @@
+package com.steamgriddb.Testing;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * An embeddable stand-in for the SGDB v2 API, built on the JDK's HttpServer.
+ * It serves the games, grids, search, vote, upload and delete routes with
+ * deterministic data, and can inject latency, server errors and 429 responses.
+ * GET responses carry an ETag and are answered with 304 when it matches.
+ * Point the library at it with
+ * {@code SGDBConnectionManager.initialize(server.getApiUri(), "key")}.
+ *
+ * @author mpaterakis
+ */
+public class SGDBFakeServer {
+
+    /*
+    * Fields
+     */
+    private static final String[] STYLES = {"alternate", "no_logo", "blurred", "material"};
+    private static final String[] TAGS = {"Hand-drawn", "Logo", "Minimal", "Photo", "Fan-art"};
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requestCount = new AtomicLong();
+    private volatile long minLatencyMillis = 0;
+    private volatile long maxLatencyMillis = 0;
+    private volatile double errorRate = 0;
+    private volatile double throttleRate = 0;
+    private volatile int gridsPerGame = 20;
+
+    /**
+     * Constructor for SGDBFakeServer. The server listens on localhost.
+     *
+     * @param port The port to listen on (0 picks a free port)
+     * @param threads The amount of threads serving requests
+     * @throws IOException If the server socket cannot be bound
+     */
+    public SGDBFakeServer(int port, int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/api/v2/", this::handle);
+    }
+
+    /**
+     * Constructor for SGDBFakeServer, listening on a free port.
+     *
+     * @throws IOException If the server socket cannot be bound
+     */
+    public SGDBFakeServer() throws IOException {
+        this(0, 32);
+    }
+
+    /**
+     * Start serving requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stop serving requests and release the server's threads.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get the API base uri of this server.
+     *
+     * @return The API base uri, ending with a slash
+     */
+    public String getApiUri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v2/";
+    }
+
+    /**
+     * Set the latency added to every response. A random value between the
+     * minimum and maximum is picked per request.
+     *
+     * @param minLatencyMillis The minimum latency in milliseconds
+     * @param maxLatencyMillis The maximum latency in milliseconds
+     */
+    public void setLatency(long minLatencyMillis, long maxLatencyMillis) {
+        this.minLatencyMillis = minLatencyMillis;
+        this.maxLatencyMillis = Math.max(minLatencyMillis, maxLatencyMillis);
+    }
+
+    /**
+     * Set the fraction of requests answered with a 500 error.
+     *
+     * @param errorRate A value between 0 and 1
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Set the fraction of requests answered with a 429 error.
+     *
+     * @param throttleRate A value between 0 and 1
+     */
+    public void setThrottleRate(double throttleRate) {
+        this.throttleRate = throttleRate;
+    }
+
+    /**
+     * Set the amount of Grids returned for every game.
+     *
+     * @param gridsPerGame The amount of Grids
+     */
+    public void setGridsPerGame(int gridsPerGame) {
+        this.gridsPerGame = gridsPerGame;
+    }
+
+    /**
+     * Get the amount of requests received so far.
+     *
+     * @return The amount of requests
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Handle a single request.
+     *
+     * @param exchange The HTTP exchange
+     * @throws IOException If the response cannot be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (maxLatencyMillis > 0) {
+            try {
+                Thread.sleep(minLatencyMillis + random.nextLong(maxLatencyMillis - minLatencyMillis + 1));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (random.nextDouble() < throttleRate) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            respond(exchange, 429, error("Too many requests"));
+            return;
+        }
+        if (random.nextDouble() < errorRate) {
+            respond(exchange, 500, error("Internal server error"));
+            return;
+        }
+
+        String path = exchange.getRequestURI().getRawPath().substring("/api/v2/".length());
+        String[] parts = path.split("/");
+        String method = exchange.getRequestMethod();
+
+        if (method.equals("GET") && parts.length == 3 && parts[0].equals("games")) {
+            respond(exchange, 200, success(game(gameId(parts[1], parts[2]))));
+        } else if (method.equals("GET") && parts.length == 3 && parts[0].equals("grids")) {
+            respond(exchange, 200, success(grids(gameId(parts[1], parts[2]), exchange.getRequestURI().getRawQuery())));
+        } else if (method.equals("GET") && parts.length == 3 && parts[0].equals("search") && parts[1].equals("autocomplete")) {
+            respond(exchange, 200, success(search(URLDecoder.decode(parts[2], StandardCharsets.UTF_8))));
+        } else if (method.equals("POST") && parts.length == 4 && parts[0].equals("grids") && parts[1].equals("vote")) {
+            respond(exchange, 200, new JSONObject().put("success", true));
+        } else if (method.equals("POST") && parts.length == 1 && parts[0].equals("grids")) {
+            respond(exchange, 200, success(new JSONObject().put("id", random.nextInt(1, Integer.MAX_VALUE))));
+        } else if (method.equals("DELETE") && parts.length == 2 && parts[0].equals("grids")) {
+            respond(exchange, 200, new JSONObject().put("success", true));
+        } else {
+            respond(exchange, 404, error("Not found"));
+        }
+    }
+
+    /**
+     * Map an id of any type to a stable GameId.
+     *
+     * @param idType The id type part of the path
+     * @param id The id part of the path
+     * @return The GameId
+     */
+    private static int gameId(String idType, String id) {
+        if (idType.equals("id") || idType.equals("game")) {
+            try {
+                return Integer.parseInt(id);
+            } catch (NumberFormatException ex) {
+                // Fall through to hashing
+            }
+        }
+        return (idType + ":" + id).hashCode() & 0xFFFFF;
+    }
+
+    /**
+     * Build the data of a Game.
+     *
+     * @param id The GameId
+     * @return The Game's data
+     */
+    private static JSONObject game(int id) {
+        return game(id, "Game " + id);
+    }
+
+    /**
+     * Build the data of a Game.
+     *
+     * @param id The GameId
+     * @param name The Game's name
+     * @return The Game's data
+     */
+    private static JSONObject game(int id, String name) {
+        return new JSONObject()
+                .put("id", id)
+                .put("name", name)
+                .put("release_date", 1100563200L + id)
+                .put("types", new JSONArray().put("steam"))
+                .put("verified", true);
+    }
+
+    /**
+     * Build the Grids of a Game, filtered by the styles query parameter.
+     *
+     * @param gameId The GameId
+     * @param query The raw query of the request
+     * @return The Grids' data
+     */
+    private JSONArray grids(int gameId, String query) {
+        String styles = "";
+        if (query != null && query.startsWith("styles=")) {
+            styles = URLDecoder.decode(query.substring("styles=".length()), StandardCharsets.UTF_8);
+        }
+
+        JSONArray grids = new JSONArray();
+        for (int i = 0; i < gridsPerGame; i++) {
+            int id = gameId * 1000 + i;
+            String style = STYLES[i % STYLES.length];
+            if (!styles.isEmpty() && !("," + styles + ",").contains("," + style + ",")) {
+                continue;
+            }
+            int author = id % 97;
+            grids.put(new JSONObject()
+                    .put("id", id)
+                    .put("score", Math.floorMod(id * 31, 11))
+                    .put("style", style)
+                    .put("url", "https://s3.amazonaws.com/steamgriddb/grid/" + Integer.toHexString(id) + ".png")
+                    .put("thumb", "https://s3.amazonaws.com/steamgriddb/thumb/" + Integer.toHexString(id) + ".png")
+                    .put("tags", new JSONArray().put(TAGS[i % TAGS.length]))
+                    .put("author", new JSONObject()
+                            .put("name", "author" + author)
+                            .put("steam64", String.valueOf(76561198000000000L + author))
+                            .put("avatar", "https://steamcdn-a.akamaihd.net/avatars/" + author + ".jpg")));
+        }
+        return grids;
+    }
+
+    /**
+     * Build the autocomplete results of a search term.
+     *
+     * @param term The search term
+     * @return The Games' data
+     */
+    private static JSONArray search(String term) {
+        JSONArray games = new JSONArray();
+        int base = term.toLowerCase().hashCode() & 0xFFFFF;
+        for (int i = 0; i < 10; i++) {
+            games.put(game(base + i, term + (i == 0 ? "" : " " + (i + 1))));
+        }
+        return games;
+    }
+
+    /**
+     * Wrap data in a successful response.
+     *
+     * @param data The response data
+     * @return The response
+     */
+    private static JSONObject success(Object data) {
+        return new JSONObject().put("success", true).put("data", data);
+    }
+
+    /**
+     * Build an error response.
+     *
+     * @param message The error message
+     * @return The response
+     */
+    private static JSONObject error(String message) {
+        return new JSONObject().put("success", false).put("errors", new JSONArray().put(message));
+    }
+
+    /**
+     * Write a JSON response.
+     *
+     * @param exchange The HTTP exchange
+     * @param status The status code
+     * @param json The response body
+     * @throws IOException If the response cannot be written
+     */
+    private static void respond(HttpExchange exchange, int status, JSONObject json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (status == 200 && exchange.getRequestMethod().equals("GET")) {
+            String eTag = "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+            exchange.getResponseHeaders().set("ETag", eTag);
+            if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+        }
+        if (exchange.getRequestMethod().equals("HEAD")) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.steamgriddb.Testing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for SGDBFakeServer.
+ *
+ * @author mpaterakis
+ */
+public class SGDBFakeServerTest {
+
+    private SGDBFakeServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    public void start() throws Exception {
+        server = new SGDBFakeServer(0, 4);
+        server.start();
+    }
+
+    @AfterEach
+    public void stop() {
+        server.stop();
+    }
+
+    @Test
+    public void gridScoresAreNeverNegative() throws Exception {
+        HttpResponse<String> response = get("grids/game/987654", null);
+        JSONArray grids = new JSONObject(response.body()).getJSONArray("data");
+        assertEquals(20, grids.length());
+        for (int i = 0; i < grids.length(); i++) {
+            int score = grids.getJSONObject(i).getInt("score");
+            assertTrue(score >= 0 && score <= 10, "score " + score);
+        }
+    }
+
+    @Test
+    public void matchingETagIsAnsweredWithNotModified() throws Exception {
+        HttpResponse<String> first = get("games/id/42", null);
+        String eTag = first.headers().firstValue("ETag").orElse(null);
+        assertEquals(200, first.statusCode());
+        assertNotNull(eTag);
+
+        HttpResponse<String> second = get("games/id/42", eTag);
+        assertEquals(304, second.statusCode());
+        assertEquals("", second.body());
+    }
+
+    @Test
+    public void headIsAnsweredWithoutBody() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.getApiUri()))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = client.send(request, BodyHandlers.ofString());
+        assertEquals(404, response.statusCode());
+        assertEquals("", response.body());
+    }
+
+    /**
+     * Send a GET request to the server.
+     *
+     * @param path The API path
+     * @param ifNoneMatch The If-None-Match header, or null
+     * @return The response
+     * @throws Exception If the request fails
+     */
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(server.getApiUri() + path));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), BodyHandlers.ofString());
+    }
+}
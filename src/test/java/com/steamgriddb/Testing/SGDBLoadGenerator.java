@@ -0,0 +1,200 @@
+package com.steamgriddb.Testing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.json.JSONObject;
+
+/**
+ * Drives the library with a fixed amount of concurrent callers for a given
+ * duration and reports throughput and latency percentiles. Meant to be used
+ * against an {@link SGDBFakeServer}, so load tests run entirely offline.
+ *
+ * @author mpaterakis
+ */
+public class SGDBLoadGenerator {
+
+    /*
+    * Fields
+     */
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmUp;
+
+    /**
+     * Constructor for SGDBLoadGenerator.
+     *
+     * @param concurrency The amount of concurrent callers
+     * @param duration The duration of the measurement
+     * @param warmUp The duration of the warm-up preceding the measurement
+     */
+    public SGDBLoadGenerator(int concurrency, Duration duration, Duration warmUp) {
+        this.concurrency = concurrency;
+        this.duration = duration;
+        this.warmUp = warmUp;
+    }
+
+    /**
+     * Run a workload and measure it. The workload gets a running counter per
+     * caller and returns the API's response; a response is counted as failed
+     * when its "success" field is not true.
+     *
+     * @param workload The call to make, e.g. {@code i -> Grid.getGridJSONByGameId(String.valueOf(i))}
+     * @return A Report of the measurement
+     */
+    public Report run(IntFunction<JSONObject> workload) {
+        if (!warmUp.isZero()) {
+            measure(workload, warmUp);
+        }
+        return measure(workload, duration);
+    }
+
+    /**
+     * Run a workload for a given duration.
+     *
+     * @param workload The call to make
+     * @param length The duration of the run
+     * @return A Report of the run
+     */
+    private Report measure(IntFunction<JSONObject> workload, Duration length) {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+        List<Future<Worker>> futures = new ArrayList<>(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(workload, end, i * 1_000_000);
+            futures.add(executor.submit(worker, worker));
+        }
+
+        long[] latencies = new long[0];
+        int failures = 0;
+        for (Future<Worker> future : futures) {
+            try {
+                Worker worker = future.get();
+                int offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + worker.count);
+                System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+                failures += worker.failures;
+            } catch (InterruptedException | ExecutionException ex) {
+                Logger.getLogger(SGDBLoadGenerator.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+        executor.shutdown();
+
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Report(latencies, failures, elapsed);
+    }
+
+    /**
+     * A single caller, recording the latency of every call it makes.
+     */
+    private static class Worker implements Runnable {
+
+        private final IntFunction<JSONObject> workload;
+        private final long end;
+        private int next;
+        private long[] latencies = new long[1024];
+        private int count = 0;
+        private int failures = 0;
+
+        Worker(IntFunction<JSONObject> workload, long end, int first) {
+            this.workload = workload;
+            this.end = end;
+            this.next = first;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < end) {
+                long start = System.nanoTime();
+                boolean success;
+                try {
+                    success = workload.apply(next++).optBoolean("success", false);
+                } catch (RuntimeException ex) {
+                    success = false;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+                if (!success) {
+                    failures++;
+                }
+            }
+        }
+    }
+
+    /**
+     * The result of a load test run.
+     */
+    public static class Report {
+
+        private final long[] latencies;
+        private final int failures;
+        private final long elapsedNanos;
+
+        Report(long[] sortedLatencies, int failures, long elapsedNanos) {
+            this.latencies = sortedLatencies;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Get the amount of calls made.
+         *
+         * @return The amount of calls
+         */
+        public int getRequests() {
+            return latencies.length;
+        }
+
+        /**
+         * Get the amount of calls that did not succeed.
+         *
+         * @return The amount of failed calls
+         */
+        public int getFailures() {
+            return failures;
+        }
+
+        /**
+         * Get the throughput of the run.
+         *
+         * @return The calls per second
+         */
+        public double getThroughput() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * Get a latency percentile.
+         *
+         * @param percentile The percentile, between 0 and 100
+         * @return The latency in milliseconds
+         */
+        public double getLatencyMillis(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d failures=%d throughput=%.1f/s p50=%.2fms p99=%.2fms max=%.2fms",
+                    getRequests(), getFailures(), getThroughput(),
+                    getLatencyMillis(50), getLatencyMillis(99), getLatencyMillis(100));
+        }
+    }
+}